@@ -0,0 +1,62 @@
+package com.appointment.benchmark;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.model.Appointment;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.service.impl.AppointmentServiceImpl;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion as done by getAllAppointments
+ * The repository is stubbed to return preloaded entities, so only the stream pipeline and
+ * convertToResponse are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentConversionBenchmark {
+
+  @Param({"100", "10000"})
+  int size;
+
+  @Mock
+  private AppointmentRepository appointmentRepository;
+
+  // Built by Mockito from the mocks by type, so new service dependencies do not break the benchmark;
+  // getAllAppointments only touches the appointment repository
+  @InjectMocks
+  private AppointmentServiceImpl appointmentService;
+
+  @Setup
+  public void setUp() {
+    BenchmarkData.quietLogging();
+    MockitoAnnotations.openMocks(this);
+    List<Appointment> appointments = BenchmarkData.appointments(size);
+    Mockito.when(appointmentRepository.findAllOrderedForListing()).thenReturn(appointments);
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> getAllAppointments() {
+    return appointmentService.getAllAppointments();
+  }
+}
@@ -0,0 +1,107 @@
+package com.appointment.benchmark;
+
+import com.appointment.SmartAppointmentApplication;
+import com.appointment.model.User;
+import com.appointment.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-row user inserts through Spring Data and Hibernate against H2
+ * A JDBC batch size of 1 is what IDENTITY ids force on Hibernate, since every insert must return
+ * its generated key; 50 matches the pooled sequence allocation and hibernate.jdbc.batch_size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+  @Param({"500"})
+  int rows;
+
+  @Param({"1", "50"})
+  int jdbcBatchSize;
+
+  private ConfigurableApplicationContext context;
+  private UserRepository userRepository;
+  private EntityManager entityManager;
+  private TransactionTemplate transactionTemplate;
+  private JdbcTemplate jdbcTemplate;
+  private long sequence;
+
+  @Setup
+  public void setUp() {
+    // DevTools would restart the application in a new class loader
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    context = new SpringApplicationBuilder(SmartAppointmentApplication.class)
+      .web(WebApplicationType.NONE)
+      .run(
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.show-sql=false",
+        "--spring.main.banner-mode=off"
+      );
+    BenchmarkData.quietLogging();
+    userRepository = context.getBean(UserRepository.class);
+    entityManager = context.getBean(EntityManager.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+  }
+
+  @TearDown(Level.Iteration)
+  public void clearUsers() {
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'bulk%@example.com'");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<User> saveAll() {
+    List<User> users = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      long n = sequence++;
+      User user = new User();
+      user.setName("Bulk User " + n);
+      user.setEmail("bulk" + n + "@example.com");
+      user.setPassword("password");
+      user.setRole(User.Role.CUSTOMER);
+      user.setActive(true);
+      users.add(user);
+    }
+    return transactionTemplate.execute(status -> {
+      entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+      return userRepository.saveAll(users);
+    });
+  }
+}
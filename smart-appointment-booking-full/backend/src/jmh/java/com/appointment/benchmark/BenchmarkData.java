@@ -0,0 +1,102 @@
+package com.appointment.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.model.Appointment;
+import com.appointment.model.User;
+
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shared by the benchmarks
+ * A fixed seed keeps runs on different commits comparable.
+ */
+final class BenchmarkData {
+
+  static final long SEED = 42L;
+  static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+  private static final Appointment.ServiceType[] SERVICE_TYPES = Appointment.ServiceType.values();
+  private static final Appointment.Status[] STATUSES = Appointment.Status.values();
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Raise the log level to WARN so console logging of the code under test does not dominate the score
+   */
+  static void quietLogging() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+  }
+
+  /**
+   * Users with the given role
+   * @param count Number of users
+   * @param role Role of every user
+   * @param firstId ID of the first user
+   * @return Users with consecutive IDs
+   */
+  static List<User> users(int count, User.Role role, long firstId) {
+    List<User> users = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      User user = new User();
+      user.setId(firstId + i);
+      user.setName(role == User.Role.SERVICE_PROVIDER ? "Dr. Provider " + i : "Customer " + i);
+      user.setEmail((role == User.Role.SERVICE_PROVIDER ? "provider" : "customer") + i + "@example.com");
+      user.setPhone(String.format("555%07d", i));
+      user.setRole(role);
+      users.add(user);
+    }
+    return users;
+  }
+
+  /**
+   * Appointment entities spread over a year between random customers and providers
+   * @param count Number of appointments
+   * @return Appointments in random order
+   */
+  static List<Appointment> appointments(int count) {
+    Random random = new Random(SEED);
+    List<User> customers = users(Math.max(1, count / 10), User.Role.CUSTOMER, 1);
+    List<User> providers = users(Math.max(1, count / 100), User.Role.SERVICE_PROVIDER, 1_000_000);
+    List<Appointment> appointments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Appointment appointment = new Appointment();
+      appointment.setId((long) i + 1);
+      appointment.setCustomer(customers.get(random.nextInt(customers.size())));
+      appointment.setServiceProvider(providers.get(random.nextInt(providers.size())));
+      appointment.setServiceType(SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)]);
+      appointment.setAppointmentDateTime(START.plusMinutes(15L * random.nextInt(35_040)));
+      appointment.setNotes(random.nextInt(4) == 0 ? null : "Follow-up visit, bring previous reports #" + i);
+      appointment.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+      appointment.setCreatedAt(START.minusDays(30).plusSeconds(i));
+      appointment.setUpdatedAt(START.minusDays(1).plusSeconds(i));
+      appointments.add(appointment);
+    }
+    return appointments;
+  }
+
+  /**
+   * Response DTOs as the API returns them
+   * @param count Number of responses
+   * @return Responses in random order
+   */
+  static List<AppointmentResponse> responses(int count) {
+    List<AppointmentResponse> responses = new ArrayList<>(count);
+    for (Appointment appointment : appointments(count)) {
+      responses.add(new AppointmentResponse(appointment.getId(),
+        appointment.getCustomer().getId(), appointment.getCustomer().getName(), appointment.getCustomer().getEmail(),
+        appointment.getServiceProvider().getId(), appointment.getServiceProvider().getName(),
+        appointment.getServiceProvider().getEmail(), appointment.getServiceType(),
+        appointment.getAppointmentDateTime(), appointment.getNotes(), appointment.getStatus(),
+        appointment.getCreatedAt(), appointment.getUpdatedAt()));
+    }
+    return responses;
+  }
+}
@@ -0,0 +1,83 @@
+package com.appointment.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. from two commits
+ * Prints one line per benchmark and parameter combination with the relative change; a change
+ * is flagged when the score intervals (score +/- error) of both runs do not overlap.
+ *
+ * Usage: BenchmarkResultDiff baseline.json current.json
+ */
+public final class BenchmarkResultDiff {
+
+  private BenchmarkResultDiff() {
+  }
+
+  record Score(String mode, String unit, double score, double error) {
+
+    boolean higherIsBetter() {
+      return "thrpt".equals(mode);
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: BenchmarkResultDiff <baseline.json> <current.json>");
+      System.exit(2);
+    }
+    Map<String, Score> baseline = read(new File(args[0]));
+    Map<String, Score> current = read(new File(args[1]));
+
+    int regressions = 0;
+    System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score now = entry.getValue();
+      Score before = baseline.get(entry.getKey());
+      if (before == null) {
+        System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.score(), "new", now.unit());
+        continue;
+      }
+      double change = (now.score() - before.score()) / before.score() * 100;
+      boolean significant = Math.abs(now.score() - before.score()) > now.error() + before.error();
+      boolean better = now.higherIsBetter() ? change > 0 : change < 0;
+      String verdict = !significant ? "" : better ? "  improved" : "  REGRESSED";
+      if (significant && !better) {
+        regressions++;
+      }
+      System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+        entry.getKey(), before.score(), now.score(), change, now.unit(), verdict);
+    }
+    for (String removed : baseline.keySet()) {
+      if (!current.containsKey(removed)) {
+        System.out.printf("%-90s %14.3f %14s %9s%n", removed, baseline.get(removed).score(), "-", "removed");
+      }
+    }
+    System.out.println(regressions == 0 ? "No significant regressions" : regressions + " significant regression(s)");
+  }
+
+  // Benchmark name with its parameters, e.g. ListingSortBenchmark.sortShuffled{size=1000} -> score
+  private static Map<String, Score> read(File file) throws IOException {
+    Map<String, Score> scores = new TreeMap<>();
+    for (JsonNode run : new ObjectMapper().readTree(file)) {
+      String name = run.path("benchmark").asText().replace("com.appointment.benchmark.", "");
+      Map<String, String> params = new LinkedHashMap<>();
+      run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+      if (!params.isEmpty()) {
+        name += params.toString().replace(", ", ",");
+      }
+      JsonNode metric = run.path("primaryMetric");
+      double error = metric.path("scoreError").asDouble(0);
+      scores.put(name, new Score(run.path("mode").asText(), metric.path("scoreUnit").asText(),
+        metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error));
+    }
+    return scores;
+  }
+}
@@ -0,0 +1,108 @@
+package com.appointment.benchmark;
+
+import com.appointment.availability.ProviderSlotCalendar;
+import com.appointment.booking.BookingIntervalIndex;
+import com.appointment.repository.AppointmentRepository;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict detection against the in-memory booking index, and the same questions against the slot calendar
+ * Queries hit random providers at random 15-minute slots, so roughly half of them conflict
+ * depending on the booking density. Bookings and queries are drawn from a fixed seed starting at a fixed
+ * time, so runs compare across machines and days.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictDetectionBenchmark {
+
+  private static final int QUERIES = 4096;
+  private static final int SLOTS = 35_040;
+
+  @Param({"100"})
+  int providers;
+
+  @Param({"100", "5000"})
+  int bookingsPerProvider;
+
+  private BookingIntervalIndex bookingIndex;
+  private ProviderSlotCalendar slotCalendar;
+  private long[] queryProviders;
+  private LocalDateTime[] queryTimes;
+
+  @Setup
+  public void setUp() {
+    BenchmarkData.quietLogging();
+    Random random = new Random(BenchmarkData.SEED);
+    LocalDateTime start = BenchmarkData.START;
+    List<Object[]> rows = new ArrayList<>(providers * bookingsPerProvider);
+    long appointmentId = 1;
+    for (long providerId = 1; providerId <= providers; providerId++) {
+      for (int i = 0; i < bookingsPerProvider; i++) {
+        rows.add(new Object[]{appointmentId++, providerId, start.plusMinutes(15L * random.nextInt(SLOTS))});
+      }
+    }
+    AppointmentRepository appointmentRepository = Mockito.mock(AppointmentRepository.class);
+    Mockito.when(appointmentRepository.findActiveBookingSlots(ArgumentMatchers.any())).thenReturn(rows);
+    bookingIndex = new BookingIntervalIndex(appointmentRepository, 60);
+    bookingIndex.rebuild();
+    slotCalendar = new ProviderSlotCalendar(bookingIndex, 15, "09:00", "17:00",
+      new String[]{"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"});
+
+    queryProviders = new long[QUERIES];
+    queryTimes = new LocalDateTime[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      queryProviders[i] = 1 + random.nextInt(providers);
+      queryTimes[i] = start.plusMinutes(15L * random.nextInt(SLOTS));
+    }
+  }
+
+  @Benchmark
+  public boolean hasConflict() {
+    int i = ThreadLocalRandom.current().nextInt(QUERIES);
+    return bookingIndex.hasConflict(queryProviders[i], queryTimes[i]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean hasConflictContended() {
+    int i = ThreadLocalRandom.current().nextInt(QUERIES);
+    return bookingIndex.hasConflict(queryProviders[i], queryTimes[i]);
+  }
+
+  @Benchmark
+  public boolean slotOccupied() {
+    int i = ThreadLocalRandom.current().nextInt(QUERIES);
+    return slotCalendar.isOccupied(queryProviders[i], queryTimes[i]);
+  }
+
+  @Benchmark
+  public Optional<LocalDateTime> firstFreeSlot() {
+    int i = ThreadLocalRandom.current().nextInt(QUERIES);
+    return slotCalendar.findFirstFreeSlot(queryProviders[i], queryTimes[i], queryTimes[i].toLocalDate().plusDays(30));
+  }
+}
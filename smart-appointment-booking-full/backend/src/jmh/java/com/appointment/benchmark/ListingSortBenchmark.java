@@ -0,0 +1,76 @@
+package com.appointment.benchmark;
+
+import com.appointment.dto.AppointmentResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting large appointment lists in listing order
+ * (most recent appointment first, then by customer, then by ID)
+ * copyOnly is the cost of the defensive copy included in every sort benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingSortBenchmark {
+
+  private static final Comparator<AppointmentResponse> LISTING_ORDER =
+    Comparator.comparing(AppointmentResponse::getAppointmentDateTime)
+      .thenComparing(AppointmentResponse::getCustomerId)
+      .thenComparing(AppointmentResponse::getId)
+      .reversed();
+
+  @Param({"1000", "100000"})
+  int size;
+
+  private List<AppointmentResponse> shuffled;
+  private List<AppointmentResponse> sorted;
+
+  @Setup
+  public void setUp() {
+    shuffled = BenchmarkData.responses(size);
+    sorted = new ArrayList<>(shuffled);
+    sorted.sort(LISTING_ORDER);
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> copyOnly() {
+    return new ArrayList<>(shuffled);
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> sortShuffled() {
+    List<AppointmentResponse> copy = new ArrayList<>(shuffled);
+    copy.sort(LISTING_ORDER);
+    return copy;
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> sortPresorted() {
+    List<AppointmentResponse> copy = new ArrayList<>(sorted);
+    copy.sort(LISTING_ORDER);
+    return copy;
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> streamSorted() {
+    return shuffled.stream().sorted(LISTING_ORDER).toList();
+  }
+}
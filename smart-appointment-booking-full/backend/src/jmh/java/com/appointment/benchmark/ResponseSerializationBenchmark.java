@@ -0,0 +1,63 @@
+package com.appointment.benchmark;
+
+import com.appointment.dto.ApiResponse;
+import com.appointment.dto.AppointmentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of list responses (ApiResponse&lt;List&lt;AppointmentResponse&gt;&gt;)
+ * The ObjectMapper is configured like the one Spring Boot gives the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  @Param({"100", "10000"})
+  int size;
+
+  private ObjectMapper objectMapper;
+  private ObjectWriter typedWriter;
+  private ApiResponse<List<AppointmentResponse>> response;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+    typedWriter = objectMapper.writerFor(new TypeReference<ApiResponse<List<AppointmentResponse>>>() { });
+    response = ApiResponse.success("Appointments retrieved successfully", BenchmarkData.responses(size));
+  }
+
+  @Benchmark
+  public byte[] objectMapper() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] typedWriter() throws JsonProcessingException {
+    return typedWriter.writeValueAsBytes(response);
+  }
+}
@@ -0,0 +1,68 @@
+package com.appointment.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one endpoint
+ * Latencies are recorded in microseconds up to one minute with three significant digits.
+ */
+class EndpointStats {
+
+  /**
+   * Outcome of a request
+   */
+  enum Outcome {
+    /** Expected success status */
+    OK,
+    /** Refused by a business rule, e.g. a booking conflict (400/409) */
+    REJECTED,
+    /** Server error, unexpected status or I/O failure */
+    ERROR
+  }
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+  private final Map<Outcome, LongAdder> outcomes = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+  /**
+   * Record one request
+   * @param latencyNanos Time from the intended start to the response
+   * @param status HTTP status, or the exception name if no response was received
+   * @param outcome Classified outcome
+   */
+  void record(long latencyNanos, String status, Outcome outcome) {
+    recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+  }
+
+  /**
+   * Histogram of everything recorded so far
+   * Must only be called once, after the run
+   */
+  Histogram histogram() {
+    return recorder.getIntervalHistogram();
+  }
+
+  long count(Outcome outcome) {
+    LongAdder adder = outcomes.get(outcome);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  Map<String, Long> statuses() {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    statuses.entrySet().stream()
+      .sorted(Map.Entry.comparingByKey())
+      .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+    return counts;
+  }
+}
@@ -0,0 +1,177 @@
+package com.appointment.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the mixed workload against the running application
+ * Every virtual user is a virtual thread that picks operations by weight until the run ends.
+ *
+ * With a target rate each user sends on a fixed schedule and latency is measured from the scheduled
+ * start, so time spent queueing behind a slow response is not hidden (coordinated omission).
+ * Without a rate users run a closed loop and the next request starts when the previous one ends.
+ */
+class LoadGenerator {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+  private static final int BOOKING_SLOTS = 7 * 24 * 4;
+  // Format expected by AppointmentRequest
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  private final LoadTestConfig config;
+  private final long[] customerIds;
+  private final long[] providerIds;
+  private final String baseUrl;
+  private final HttpClient httpClient;
+  private final Operation[] schedule;
+  private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+  LoadGenerator(LoadTestConfig config, LoadTestData data, int port) {
+    this.config = config;
+    this.customerIds = data.customerIds();
+    this.providerIds = data.providerIds();
+    this.baseUrl = "http://localhost:" + port;
+    this.httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+    this.schedule = schedule(config.mix());
+    for (Operation operation : config.mix().keySet()) {
+      stats.put(operation, new EndpointStats());
+    }
+  }
+
+  /**
+   * Run warmup and measurement
+   * @return Statistics per operation, covering the measured period only
+   */
+  Map<Operation, EndpointStats> run() throws InterruptedException {
+    long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+    long end = warmupEnd + config.duration().toNanos();
+    long intervalNanos = config.rate() > 0 ? TimeUnit.SECONDS.toNanos(config.concurrency()) / config.rate() : 0;
+
+    try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int user = 0; user < config.concurrency(); user++) {
+        SplittableRandom random = new SplittableRandom(config.seed() + user);
+        // Spread the first requests over one interval so paced users do not fire in lockstep
+        long firstStart = System.nanoTime() + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+        users.submit(() -> virtualUser(random, firstStart, intervalNanos, warmupEnd, end));
+      }
+    }
+    return stats;
+  }
+
+  private void virtualUser(SplittableRandom random, long firstStart, long intervalNanos, long warmupEnd, long end) {
+    long intendedStart = firstStart;
+    while (intendedStart < end) {
+      if (intervalNanos > 0) {
+        long wait = intendedStart - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+      } else {
+        intendedStart = System.nanoTime();
+      }
+      Operation operation = schedule[random.nextInt(schedule.length)];
+      String status;
+      EndpointStats.Outcome outcome;
+      try {
+        HttpResponse<Void> response = httpClient.send(request(operation, random), HttpResponse.BodyHandlers.discarding());
+        status = String.valueOf(response.statusCode());
+        outcome = classify(operation, response.statusCode());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        status = e.getClass().getSimpleName();
+        outcome = EndpointStats.Outcome.ERROR;
+      }
+      if (intendedStart >= warmupEnd) {
+        stats.get(operation).record(System.nanoTime() - intendedStart, status, outcome);
+      }
+      if (intervalNanos > 0) {
+        intendedStart += intervalNanos;
+      }
+    }
+  }
+
+  private HttpRequest request(Operation operation, SplittableRandom random) {
+    return switch (operation) {
+      case BOOK -> post("/api/v1/appointments", bookingBody(random));
+      case CUSTOMER -> get("/api/v1/appointments/customer/" + customerId(random));
+      case PROVIDER -> get("/api/v1/appointments/provider/" + providerIds[random.nextInt(providerIds.length)]);
+      case STATS -> get("/api/v1/appointments/stats");
+      case SEARCH -> get("/api/v1/appointments/search?page=0&size=20&keyword="
+        + URLEncoder.encode(LoadTestData.LAST_NAMES[random.nextInt(LoadTestData.LAST_NAMES.length)], StandardCharsets.UTF_8));
+      case LOGIN -> post("/api/v1/auth/login", "{\"email\":\""
+        + LoadTestData.email("customer", random.nextInt(config.customers()))
+        + "\",\"password\":\"" + LoadTestData.PASSWORD + "\"}");
+    };
+  }
+
+  // A booking storm: random 15-minute slots of the next week at one of the few popular providers
+  private String bookingBody(SplittableRandom random) {
+    LocalDateTime start = LoadTestData.FIRST_SLOT.plusMinutes(15L * random.nextInt(BOOKING_SLOTS));
+    return "{\"customerId\":" + customerId(random)
+      + ",\"serviceProviderId\":" + providerIds[random.nextInt(config.hotProviders())]
+      + ",\"serviceType\":\"DOCTOR\",\"appointmentDateTime\":\"" + DATE_TIME.format(start)
+      + "\",\"notes\":\"load test booking\"}";
+  }
+
+  private long customerId(SplittableRandom random) {
+    return customerIds[random.nextInt(customerIds.length)];
+  }
+
+  private static EndpointStats.Outcome classify(Operation operation, int status) {
+    if (status == 200 || (operation == Operation.BOOK && status == 201)) {
+      return EndpointStats.Outcome.OK;
+    }
+    if (operation == Operation.BOOK && (status == 400 || status == 409)) {
+      return EndpointStats.Outcome.REJECTED;
+    }
+    return EndpointStats.Outcome.ERROR;
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+  }
+
+  private HttpRequest post(String path, String json) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+      .timeout(REQUEST_TIMEOUT)
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(json))
+      .build();
+  }
+
+  // One slot per weight unit, so picking a random slot picks an operation by weight
+  private static Operation[] schedule(Map<Operation, Integer> mix) {
+    List<Operation> slots = new ArrayList<>();
+    mix.forEach((operation, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        slots.add(operation);
+      }
+    });
+    if (slots.isEmpty()) {
+      throw new IllegalArgumentException("The workload mix has no operation with a positive weight");
+    }
+    return slots.toArray(Operation[]::new);
+  }
+}
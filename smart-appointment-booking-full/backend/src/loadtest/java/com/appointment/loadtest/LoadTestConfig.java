@@ -0,0 +1,107 @@
+package com.appointment.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, given as key=value arguments
+ *
+ * @param customers Seeded customers
+ * @param providers Seeded service providers
+ * @param appointmentsPerProvider Seeded appointments per provider
+ * @param hotProviders Number of popular providers that receive all booking requests
+ * @param concurrency Number of concurrent virtual users
+ * @param rate Target requests per second over all users; 0 runs a closed loop (next request right after the previous)
+ * @param warmup Time before measuring starts
+ * @param duration Measured time
+ * @param mix Relative weight of every operation
+ * @param report JSON report file
+ * @param seed Random seed for data and workload
+ */
+record LoadTestConfig(int customers, int providers, int appointmentsPerProvider, int hotProviders,
+                      int concurrency, int rate, Duration warmup, Duration duration,
+                      Map<Operation, Integer> mix, Path report, long seed) {
+
+  private static final String DEFAULT_MIX = "book:20,customer:25,provider:15,stats:10,search:15,login:15";
+
+  /**
+   * Parse key=value arguments; keys not given keep their default
+   * @param args Arguments, e.g. concurrency=128 duration=120
+   * @return Configuration
+   */
+  static LoadTestConfig parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Expected key=value but got: " + arg);
+      }
+      String value = arg.substring(separator + 1).trim();
+      if (!value.isEmpty()) {
+        values.put(arg.substring(0, separator).trim(), value);
+      }
+    }
+    LoadTestConfig config = new LoadTestConfig(
+      integer(values, "customers", 2000),
+      integer(values, "providers", 200),
+      integer(values, "appointmentsPerProvider", 250),
+      integer(values, "hotProviders", 3),
+      integer(values, "concurrency", 64),
+      integer(values, "rate", 0),
+      Duration.ofSeconds(integer(values, "warmup", 10)),
+      Duration.ofSeconds(integer(values, "duration", 60)),
+      parseMix(text(values, "mix", DEFAULT_MIX)),
+      Path.of(text(values, "report", "target/loadtest-report.json")),
+      Long.parseLong(text(values, "seed", "42"))
+    );
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown load test settings: " + values.keySet());
+    }
+    if (config.hotProviders() > config.providers() || config.concurrency() <= 0) {
+      throw new IllegalArgumentException("hotProviders must not exceed providers and concurrency must be positive");
+    }
+    return config;
+  }
+
+  private static String text(Map<String, String> values, String key, String defaultValue) {
+    String value = values.remove(key);
+    return value == null ? defaultValue : value;
+  }
+
+  private static int integer(Map<String, String> values, String key, int defaultValue) {
+    String value = values.remove(key);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  // "book:20,search:10" -> {BOOK=20, SEARCH=10}
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : mix.split(",")) {
+      String[] entry = part.split(":");
+      if (entry.length != 2) {
+        throw new IllegalArgumentException("Expected operation:weight in mix but got: " + part);
+      }
+      weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+    }
+    return weights;
+  }
+
+  Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("customers", customers);
+    map.put("providers", providers);
+    map.put("appointmentsPerProvider", appointmentsPerProvider);
+    map.put("hotProviders", hotProviders);
+    map.put("concurrency", concurrency);
+    map.put("rate", rate);
+    map.put("warmupSeconds", warmup.toSeconds());
+    map.put("durationSeconds", duration.toSeconds());
+    map.put("mix", mix);
+    map.put("seed", seed);
+    return map;
+  }
+}
@@ -0,0 +1,184 @@
+package com.appointment.loadtest;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the load test database with users and appointments
+ * Runs as a Flyway migration after the schema migrations, so the data is in place before the
+ * in-memory indexes (booking, search, provider directory) are built at startup.
+ *
+ * Every provider gets appointments on distinct 90-minute slots, so the seeded data itself holds no
+ * double bookings. About a fifth of the slots lie in the past.
+ */
+class LoadTestData implements JavaMigration {
+
+  static final String PASSWORD = "password";
+  static final LocalDateTime FIRST_SLOT = LocalDate.now().plusDays(1).atTime(8, 0);
+  static final int SLOT_MINUTES = 90;
+
+  static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+    "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+    "Sarah", "Charles", "Karen", "Priya", "Arjun", "Wei", "Yuki", "Fatima", "Omar", "Lucas", "Sofia"};
+  static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+    "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore",
+    "Jackson", "Martin", "Lee", "Sharma", "Patel", "Chen", "Tanaka", "Khan", "Haddad", "Silva", "Rossi"};
+
+  private static final String[] SERVICE_TYPES = {"DOCTOR", "DENTIST", "BARBER", "SALON", "CONSULTANT",
+    "THERAPIST", "LAWYER", "MECHANIC", "OTHER"};
+  private static final int BATCH_SIZE = 1000;
+
+  private final LoadTestConfig config;
+
+  private long[] customerIds = new long[0];
+  private long[] providerIds = new long[0];
+
+  LoadTestData(LoadTestConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * IDs of the seeded customers, available once the migration ran
+   */
+  long[] customerIds() {
+    return customerIds;
+  }
+
+  /**
+   * IDs of the seeded providers in insertion order; the first hotProviders of them receive the booking storm
+   */
+  long[] providerIds() {
+    return providerIds;
+  }
+
+  @Override
+  public MigrationVersion getVersion() {
+    return MigrationVersion.fromVersion("1000");
+  }
+
+  @Override
+  public String getDescription() {
+    return "load test data";
+  }
+
+  @Override
+  public Integer getChecksum() {
+    return null;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return true;
+  }
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    Random random = new Random(config.seed());
+    insertUsers(connection, random, "CUSTOMER", "customer", config.customers());
+    insertUsers(connection, random, "SERVICE_PROVIDER", "provider", config.providers());
+    List<Long> customers = userIds(connection, "CUSTOMER");
+    List<Long> providers = userIds(connection, "SERVICE_PROVIDER");
+    insertAppointments(connection, random, customers, providers);
+    customerIds = customers.stream().mapToLong(Long::longValue).toArray();
+    providerIds = providers.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * E-mail address of a seeded user
+   * @param prefix customer or provider
+   * @param index Index of the user
+   * @return E-mail address
+   */
+  static String email(String prefix, int index) {
+    return prefix + index + "@loadtest.example.com";
+  }
+
+  private void insertUsers(Connection connection, Random random, String role, String prefix, int count)
+    throws SQLException {
+    String sql = "INSERT INTO users (name, email, password, phone, role, active, created_at, updated_at) " +
+      "VALUES (?, ?, ?, ?, ?, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < count; i++) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        statement.setString(1, "SERVICE_PROVIDER".equals(role) ? "Dr. " + name : name);
+        statement.setString(2, email(prefix, i));
+        statement.setString(3, PASSWORD);
+        statement.setString(4, String.format("555%07d", random.nextInt(10_000_000)));
+        statement.setString(5, role);
+        statement.addBatch();
+        if ((i + 1) % BATCH_SIZE == 0) {
+          statement.executeBatch();
+        }
+      }
+      statement.executeBatch();
+    }
+  }
+
+  private static List<Long> userIds(Connection connection, String role) throws SQLException {
+    List<Long> ids = new ArrayList<>();
+    try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM users WHERE role = ? AND email LIKE '%@loadtest.example.com' ORDER BY id")) {
+      statement.setString(1, role);
+      try (ResultSet rows = statement.executeQuery()) {
+        while (rows.next()) {
+          ids.add(rows.getLong(1));
+        }
+      }
+    }
+    return ids;
+  }
+
+  private void insertAppointments(Connection connection, Random random, List<Long> customerIds, List<Long> providerIds)
+    throws SQLException {
+    String sql = "INSERT INTO appointments (customer_id, provider_id, service_type, appointment_datetime, notes, " +
+      "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    int perProvider = config.appointmentsPerProvider();
+    int pastSlots = perProvider / 4;
+    List<Integer> slots = new ArrayList<>();
+    for (int slot = -pastSlots; slot < perProvider * 2 - pastSlots; slot++) {
+      slots.add(slot);
+    }
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      int pending = 0;
+      for (Long providerId : providerIds) {
+        Collections.shuffle(slots, random);
+        for (int i = 0; i < perProvider; i++) {
+          int slot = slots.get(i);
+          LocalDateTime start = FIRST_SLOT.plusMinutes((long) SLOT_MINUTES * slot);
+          statement.setLong(1, customerIds.get(random.nextInt(customerIds.size())));
+          statement.setLong(2, providerId);
+          statement.setString(3, SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)]);
+          statement.setTimestamp(4, Timestamp.valueOf(start));
+          statement.setString(5, random.nextInt(3) == 0 ? null : "Visit for " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+          statement.setString(6, status(random, slot < 0));
+          statement.addBatch();
+          if (++pending % BATCH_SIZE == 0) {
+            statement.executeBatch();
+          }
+        }
+      }
+      statement.executeBatch();
+    }
+  }
+
+  private static String status(Random random, boolean past) {
+    int roll = random.nextInt(100);
+    if (past) {
+      return roll < 75 ? "COMPLETED" : roll < 90 ? "CANCELLED" : "NO_SHOW";
+    }
+    return roll < 45 ? "PENDING" : roll < 90 ? "CONFIRMED" : "CANCELLED";
+  }
+}
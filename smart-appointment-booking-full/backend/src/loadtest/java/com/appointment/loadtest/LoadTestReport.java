@@ -0,0 +1,98 @@
+package com.appointment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a load test run, printed as a table and written as JSON
+ * Latencies are in milliseconds.
+ */
+class LoadTestReport {
+
+  private final Map<String, Object> report = new LinkedHashMap<>();
+  private final Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+
+  LoadTestReport(LoadTestConfig config, long seededAppointments, Map<Operation, EndpointStats> stats,
+                 long doubleBookings) {
+    double seconds = config.duration().toMillis() / 1000.0;
+    long total = 0;
+    long errors = 0;
+    for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+      EndpointStats endpointStats = entry.getValue();
+      Histogram histogram = endpointStats.histogram();
+      Map<String, Object> endpoint = new LinkedHashMap<>();
+      endpoint.put("endpoint", entry.getKey().getEndpoint());
+      endpoint.put("requests", histogram.getTotalCount());
+      endpoint.put("throughputPerSecond", round(histogram.getTotalCount() / seconds));
+      endpoint.put("ok", endpointStats.count(EndpointStats.Outcome.OK));
+      endpoint.put("rejected", endpointStats.count(EndpointStats.Outcome.REJECTED));
+      endpoint.put("errors", endpointStats.count(EndpointStats.Outcome.ERROR));
+      endpoint.put("statuses", endpointStats.statuses());
+      Map<String, Object> latency = new LinkedHashMap<>();
+      latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+      latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+      latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+      latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+      latency.put("max", millis(histogram.getMaxValue()));
+      latency.put("mean", round(histogram.getMean() / 1000));
+      endpoint.put("latencyMillis", latency);
+      endpoints.put(entry.getKey().name().toLowerCase(), endpoint);
+      total += histogram.getTotalCount();
+      errors += endpointStats.count(EndpointStats.Outcome.ERROR);
+    }
+    report.put("finishedAt", LocalDateTime.now().toString());
+    report.put("config", config.toMap());
+    report.put("seededAppointments", seededAppointments);
+    report.put("requests", total);
+    report.put("throughputPerSecond", round(total / seconds));
+    report.put("errors", errors);
+    report.put("doubleBookings", doubleBookings);
+    report.put("endpoints", endpoints);
+  }
+
+  long doubleBookings() {
+    return (long) report.get("doubleBookings");
+  }
+
+  long errors() {
+    return (long) report.get("errors");
+  }
+
+  void print(PrintStream out) {
+    out.printf("%n%-10s %9s %9s %8s %8s %8s %9s %9s %9s %9s%n",
+      "operation", "requests", "req/s", "rejected", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "mean ms");
+    endpoints.forEach((name, endpoint) -> {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMillis");
+      out.printf("%-10s %9d %9.1f %8d %8d %8.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+        endpoint.get("requests"), endpoint.get("throughputPerSecond"), endpoint.get("rejected"), endpoint.get("errors"),
+        latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"), latency.get("mean"));
+    });
+    out.printf("%nTotal %d requests (%.1f/s), %d errors, %d double bookings%n",
+      report.get("requests"), report.get("throughputPerSecond"), errors(), doubleBookings());
+  }
+
+  void write(Path file) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+  }
+
+  private static double millis(long micros) {
+    return round(micros / 1000.0);
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 100) / 100.0;
+  }
+}
@@ -0,0 +1,97 @@
+package com.appointment.loadtest;
+
+import com.appointment.SmartAppointmentApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * End-to-end load test: boots the application against an in-memory H2 database seeded with
+ * realistic volume, drives a mixed workload over HTTP and reports latency percentiles per endpoint.
+ *
+ * Run with: mvn -Ploadtest verify [-Dloadtest.concurrency=128 -Dloadtest.duration=120 ...]
+ * or directly with key=value arguments (see {@link LoadTestConfig}).
+ *
+ * Exits with status 1 when the run produced server errors or double bookings.
+ */
+public final class LoadTestRunner {
+
+  private LoadTestRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.parse(args);
+    // DevTools would restart the application in a new class loader
+    System.setProperty("spring.devtools.restart.enabled", "false");
+
+    LoadTestData data = new LoadTestData(config);
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(SmartAppointmentApplication.class)
+      // Registered before the refresh so Flyway applies it after the schema migrations
+      .initializers(ctx -> ctx.getBeanFactory().registerSingleton("loadTestData", data))
+      .run(
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Only the generated data: no SQL init scripts (sample data is a dev-profile migration)
+        "--spring.sql.init.mode=never",
+        "--spring.jpa.show-sql=false",
+        "--spring.main.banner-mode=off"
+      );
+    int exitCode;
+    try {
+      JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+      long seededAppointments = count(jdbcTemplate);
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      System.out.printf("Seeded %d appointments; running %s on port %d%n", seededAppointments, config.toMap(), port);
+
+      Map<Operation, EndpointStats> stats = new LoadGenerator(config, data, port).run();
+
+      Duration conflictWindow = Duration.ofMinutes(
+        context.getEnvironment().getProperty("booking.conflict-window-minutes", Long.class, 60L));
+      LoadTestReport report = new LoadTestReport(config, seededAppointments, stats,
+        countDoubleBookings(jdbcTemplate, conflictWindow));
+      report.print(System.out);
+      report.write(config.report());
+      System.out.println("Report written to " + config.report().toAbsolutePath());
+      exitCode = report.errors() > 0 || report.doubleBookings() > 0 ? 1 : 0;
+    } finally {
+      context.close();
+    }
+    System.exit(exitCode);
+  }
+
+  private static long count(JdbcTemplate jdbcTemplate) {
+    Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class);
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * Count pairs of active appointments of the same provider that start within the conflict window
+   * of each other, which the booking path must never allow
+   */
+  private static long countDoubleBookings(JdbcTemplate jdbcTemplate, Duration conflictWindow) {
+    long[] violations = {0};
+    long[] previousProvider = {-1};
+    Timestamp[] previousStart = {null};
+    jdbcTemplate.query("SELECT provider_id, appointment_datetime FROM appointments " +
+      "WHERE status <> 'CANCELLED' ORDER BY provider_id, appointment_datetime", row -> {
+      long providerId = row.getLong(1);
+      Timestamp start = row.getTimestamp(2);
+      if (providerId == previousProvider[0]
+        && Duration.between(previousStart[0].toLocalDateTime(), start.toLocalDateTime()).compareTo(conflictWindow) <= 0) {
+        violations[0]++;
+      }
+      previousProvider[0] = providerId;
+      previousStart[0] = start;
+    });
+    return violations[0];
+  }
+}
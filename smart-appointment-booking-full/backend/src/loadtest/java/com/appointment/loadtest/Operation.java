@@ -0,0 +1,23 @@
+package com.appointment.loadtest;
+
+/**
+ * Operations of the mixed workload and the endpoint each one calls
+ */
+enum Operation {
+  BOOK("POST /api/v1/appointments"),
+  CUSTOMER("GET /api/v1/appointments/customer/{id}"),
+  PROVIDER("GET /api/v1/appointments/provider/{id}"),
+  STATS("GET /api/v1/appointments/stats"),
+  SEARCH("GET /api/v1/appointments/search"),
+  LOGIN("POST /api/v1/auth/login");
+
+  private final String endpoint;
+
+  Operation(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  String getEndpoint() {
+    return endpoint;
+  }
+}
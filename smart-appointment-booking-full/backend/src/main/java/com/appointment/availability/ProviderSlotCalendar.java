@@ -0,0 +1,270 @@
+package com.appointment.availability;
+
+import com.appointment.booking.BookingIndexListener;
+import com.appointment.booking.BookingIntervalIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitset calendar of blocked slots per service provider and day
+ * The day is divided into slots of availability.slot-minutes; a slot's bit is set while an active booking's
+ * conflict window covers its start, so a clear bit means BookingIntervalIndex.hasConflict would accept a
+ * booking at that time. With 15-minute slots a provider-day is 96 bits in two longs.
+ *
+ * Bits live in one AtomicLongArray per provider and calendar year (366 days x words per day, about 6 KB
+ * for 15-minute slots), allocated with the provider's first booking in that year. Words are updated
+ * with compare-and-set, so readers never lock and always see whole words. Occupancy of a slot is one
+ * bit test; the first free slot after a time is found with a few mask operations per day.
+ *
+ * The calendar follows the booking index: an added booking sets the bits inside its window, a removed
+ * booking clears them and sets them again for the neighbouring bookings whose windows overlap, in one
+ * CAS per word. A reload of the index rebuilds the calendar. Working hours are applied when slots are read.
+ */
+@Component
+@Slf4j
+public class ProviderSlotCalendar implements BookingIndexListener {
+
+  private static final long SECONDS_PER_DAY = Duration.ofDays(1).toSeconds();
+  private static final int DAYS_PER_YEAR = 366;
+
+  private final long slotSeconds;
+  private final long windowSeconds;
+  private final int slotsPerDay;
+  private final int wordsPerDay;
+  private final Set<DayOfWeek> workingDays;
+  private final long[] workingHoursMask;
+
+  private volatile Map<ProviderYear, AtomicLongArray> years = new ConcurrentHashMap<>();
+
+  public ProviderSlotCalendar(BookingIntervalIndex bookingIndex,
+                              @Value("${availability.slot-minutes:15}") long slotMinutes,
+                              @Value("${availability.opens-at:09:00}") String opensAt,
+                              @Value("${availability.closes-at:17:00}") String closesAt,
+                              @Value("${availability.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String[] workingDays) {
+    this.slotSeconds = Duration.ofMinutes(slotMinutes).toSeconds();
+    if (slotMinutes <= 0 || SECONDS_PER_DAY % slotSeconds != 0) {
+      throw new IllegalArgumentException("availability.slot-minutes must divide a day evenly: " + slotMinutes);
+    }
+    this.slotsPerDay = (int) (SECONDS_PER_DAY / slotSeconds);
+    this.wordsPerDay = Math.ceilDiv(slotsPerDay, Long.SIZE);
+    this.windowSeconds = bookingIndex.getConflictWindow().toSeconds();
+
+    LocalTime opens = LocalTime.parse(opensAt);
+    LocalTime closes = LocalTime.parse(closesAt);
+    if (opens.toSecondOfDay() % slotSeconds != 0 || !opens.isBefore(closes)) {
+      throw new IllegalArgumentException("Working hours must start on the slot grid and end after they start");
+    }
+    this.workingHoursMask = new long[wordsPerDay];
+    int firstSlot = (int) (opens.toSecondOfDay() / slotSeconds);
+    int lastSlot = (int) ((closes.toSecondOfDay() - 1) / slotSeconds);
+    for (int slot = firstSlot; slot <= lastSlot; slot++) {
+      workingHoursMask[slot / Long.SIZE] |= 1L << slot;
+    }
+    this.workingDays = EnumSet.noneOf(DayOfWeek.class);
+    Arrays.stream(workingDays).map(day -> DayOfWeek.valueOf(day.trim().toUpperCase())).forEach(this.workingDays::add);
+
+    // Receives the current bookings now and every later change
+    bookingIndex.addListener(this);
+  }
+
+  @Override
+  public void bookingAdded(Long providerId, LocalDateTime start) {
+    update(years, providerId, List.of(), List.of(start));
+  }
+
+  @Override
+  public void bookingRemoved(Long providerId, LocalDateTime start, List<LocalDateTime> nearbyStarts) {
+    update(years, providerId, List.of(start), nearbyStarts);
+  }
+
+  @Override
+  public void bookingsReloaded(Map<Long, List<LocalDateTime>> startsByProvider) {
+    Map<ProviderYear, AtomicLongArray> newYears = new ConcurrentHashMap<>();
+    startsByProvider.forEach((providerId, starts) -> update(newYears, providerId, List.of(), starts));
+    this.years = newYears;
+    log.debug("Slot calendar rebuilt with {} provider years", newYears.size());
+  }
+
+  /**
+   * Check if a booking starting at a slot would conflict with an active booking
+   * @param providerId Service provider ID
+   * @param slotStart Start of the slot, on the slot grid
+   * @return true if the slot is blocked
+   */
+  public boolean isOccupied(Long providerId, LocalDateTime slotStart) {
+    long second = slotStart.toEpochSecond(ZoneOffset.UTC);
+    if (second % slotSeconds != 0 || slotStart.getNano() != 0) {
+      throw new IllegalArgumentException("Time is not on the " + getSlotMinutes() + "-minute slot grid: " + slotStart);
+    }
+    int slot = (int) (Math.floorMod(second, SECONDS_PER_DAY) / slotSeconds);
+    return (blockedWord(providerId, slotStart.toLocalDate(), slot / Long.SIZE) & (1L << slot)) != 0;
+  }
+
+  /**
+   * Get the free slot start times of a provider on one day
+   * @param providerId Service provider ID
+   * @param date Day
+   * @param notBefore Slots starting before this time are not returned (e.g. now)
+   * @return Free slot start times within working hours, in ascending order
+   */
+  public List<LocalTime> getFreeSlots(Long providerId, LocalDate date, LocalDateTime notBefore) {
+    List<LocalTime> free = new ArrayList<>();
+    if (!workingDays.contains(date.getDayOfWeek())) {
+      return free;
+    }
+    int minSlot = firstSlotNotBefore(date, notBefore);
+    for (int word = 0; word < wordsPerDay; word++) {
+      long bits = freeBits(providerId, date, word, minSlot);
+      while (bits != 0) {
+        int slot = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+        free.add(LocalTime.ofSecondOfDay(slot * slotSeconds));
+        bits &= bits - 1;
+      }
+    }
+    return free;
+  }
+
+  /**
+   * Find the first free slot within working hours starting at or after a time
+   * @param providerId Service provider ID
+   * @param notBefore Earliest acceptable start
+   * @param lastDay Last day to search (inclusive)
+   * @return Start of the first free slot, or empty if there is none up to lastDay
+   */
+  public Optional<LocalDateTime> findFirstFreeSlot(Long providerId, LocalDateTime notBefore, LocalDate lastDay) {
+    for (LocalDate date = notBefore.toLocalDate(); !date.isAfter(lastDay); date = date.plusDays(1)) {
+      if (!workingDays.contains(date.getDayOfWeek())) {
+        continue;
+      }
+      int minSlot = firstSlotNotBefore(date, notBefore);
+      for (int word = 0; word < wordsPerDay; word++) {
+        long bits = freeBits(providerId, date, word, minSlot);
+        if (bits != 0) {
+          int slot = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+          return Optional.of(date.atStartOfDay().plusSeconds(slot * slotSeconds));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Get the slot length
+   * @return Slot length in minutes
+   */
+  public long getSlotMinutes() {
+    return slotSeconds / 60;
+  }
+
+  /**
+   * Get the number of provider years holding bits
+   * @return Number of allocated provider years
+   */
+  public int size() {
+    return years.size();
+  }
+
+  /**
+   * Get the memory taken by the bitsets (array payload only)
+   * @return Allocated bytes
+   */
+  public long getAllocatedBytes() {
+    return years.values().stream().mapToLong(array -> (long) array.length() * Long.BYTES).sum();
+  }
+
+  // Helper method to read the blocked bits of one word of a provider-day (0 if the year has no bookings)
+  private long blockedWord(Long providerId, LocalDate date, int word) {
+    AtomicLongArray bits = years.get(new ProviderYear(providerId, date.getYear()));
+    return bits == null ? 0 : bits.get(wordIndex(date, word));
+  }
+
+  // Helper method to get the free working-hours slots of one word, starting at minSlot
+  private long freeBits(Long providerId, LocalDate date, int word, int minSlot) {
+    int offset = minSlot - word * Long.SIZE;
+    long notBeforeMask = offset <= 0 ? -1L : offset >= Long.SIZE ? 0 : -1L << offset;
+    return ~blockedWord(providerId, date, word) & workingHoursMask[word] & notBeforeMask;
+  }
+
+  // Helper method to get the first slot of a day starting at or after notBefore
+  private int firstSlotNotBefore(LocalDate date, LocalDateTime notBefore) {
+    if (notBefore.toLocalDate().isBefore(date)) {
+      return 0;
+    }
+    if (notBefore.toLocalDate().isAfter(date)) {
+      return slotsPerDay;
+    }
+    LocalTime time = notBefore.toLocalTime();
+    return (int) Math.ceilDiv(time.toSecondOfDay() + (time.getNano() > 0 ? 1 : 0), slotSeconds);
+  }
+
+  // Helper method to clear the windows of the cleared bookings and set the windows of the set bookings,
+  // applying both to each affected word with a single compare-and-set
+  private void update(Map<ProviderYear, AtomicLongArray> target, Long providerId,
+                      List<LocalDateTime> cleared, List<LocalDateTime> set) {
+    Map<WordRef, long[]> masks = new HashMap<>();
+    cleared.forEach(start -> collectWindow(masks, providerId, start, 0));
+    set.forEach(start -> collectWindow(masks, providerId, start, 1));
+
+    masks.forEach((ref, mask) -> {
+      AtomicLongArray bits = mask[1] != 0
+        ? target.computeIfAbsent(ref.year(), key -> new AtomicLongArray(DAYS_PER_YEAR * wordsPerDay))
+        : target.get(ref.year());
+      if (bits == null) {
+        return;
+      }
+      long current;
+      do {
+        current = bits.get(ref.index());
+      } while (!bits.compareAndSet(ref.index(), current, (current & ~mask[0]) | mask[1]));
+    });
+  }
+
+  // Helper method to add the slots within the conflict window of a booking to the clear (0) or set (1) masks;
+  // the window may spill into the previous or next day
+  private void collectWindow(Map<WordRef, long[]> masks, Long providerId, LocalDateTime start, int kind) {
+    long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+    long firstSlot = Math.ceilDiv(startSecond - windowSeconds, slotSeconds);
+    long lastSlot = Math.floorDiv(startSecond + windowSeconds, slotSeconds);
+    for (long slot = firstSlot; slot <= lastSlot; slot++) {
+      LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(slot, slotsPerDay));
+      int slotOfDay = (int) Math.floorMod(slot, slotsPerDay);
+      WordRef ref = new WordRef(new ProviderYear(providerId, date.getYear()), wordIndex(date, slotOfDay / Long.SIZE));
+      masks.computeIfAbsent(ref, key -> new long[2])[kind] |= 1L << slotOfDay;
+    }
+  }
+
+  // Helper method to locate a word of a provider-day inside its year array
+  private int wordIndex(LocalDate date, int word) {
+    return (date.getDayOfYear() - 1) * wordsPerDay + word;
+  }
+
+  /**
+   * Key of one provider's bitset for a calendar year
+   */
+  private record ProviderYear(Long providerId, int year) {
+  }
+
+  /**
+   * One word of a provider-year bitset
+   */
+  private record WordRef(ProviderYear year, int index) {
+  }
+}
@@ -0,0 +1,32 @@
+package com.appointment.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the booking index
+ * GET  /actuator/bookingindex  -> number of indexed bookings
+ * POST /actuator/bookingindex  -> consistency check against the database (rebuilds on mismatch)
+ */
+@Component
+@Endpoint(id = "bookingindex")
+@RequiredArgsConstructor
+public class BookingIndexEndpoint {
+
+  private final BookingIntervalIndex bookingIndex;
+
+  @ReadOperation
+  public Map<String, Object> size() {
+    return Map.of("indexedBookings", bookingIndex.size());
+  }
+
+  @WriteOperation
+  public Map<String, Object> verify() {
+    return bookingIndex.verifyConsistency();
+  }
+}
@@ -0,0 +1,35 @@
+package com.appointment.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives every change of the booking index, in the order the index applies them
+ * Callbacks run while the index holds its lock, so they must be quick and must not call back into the index.
+ * A moved booking is reported as a removal followed by an addition.
+ */
+public interface BookingIndexListener {
+
+  /**
+   * An active booking was added to the index
+   * @param providerId Service provider ID
+   * @param start Start time of the booking
+   */
+  void bookingAdded(Long providerId, LocalDateTime start);
+
+  /**
+   * An active booking was removed from the index (cancelled, deleted or moved)
+   * @param providerId Service provider ID
+   * @param start Start time the booking had
+   * @param nearbyStarts Start times of the provider's remaining bookings within two conflict windows of start,
+   *                     i.e. every booking whose window overlaps the window of the removed one
+   */
+  void bookingRemoved(Long providerId, LocalDateTime start, List<LocalDateTime> nearbyStarts);
+
+  /**
+   * The index was reloaded from the database; replaces everything reported before
+   * @param startsByProvider Start times of all active bookings per service provider
+   */
+  void bookingsReloaded(Map<Long, List<LocalDateTime>> startsByProvider);
+}
@@ -0,0 +1,345 @@
+package com.appointment.booking;
+
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of active (non-cancelled) bookings per service provider
+ * Used to answer "does this provider already have an appointment around this time?" without a database round trip
+ *
+ * Every booking blocks the same window around its start time, so an interval overlap test reduces to a
+ * range query on start times: each provider keeps its bookings in a sorted map and a check is one
+ * O(log n) ceiling lookup. Only bookings that can still conflict with a future appointment are indexed.
+ *
+ * Reloads query the database without holding the index monitor, so a virtual thread applying a change
+ * never waits on (and pins its carrier behind) a JDBC call. Changes applied while a reload query runs are
+ * recorded and replayed onto the reloaded bookings before they are swapped in.
+ */
+@Component
+@Slf4j
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+
+  private final AppointmentRepository appointmentRepository;
+  private final Duration conflictWindow;
+
+  private volatile Map<Long, ProviderTimeline> timelines = new ConcurrentHashMap<>();
+  private volatile Map<Long, IndexedBooking> bookings = new ConcurrentHashMap<>();
+  private final List<BookingIndexListener> listeners = new CopyOnWriteArrayList<>();
+  // Serializes reloads; a ReentrantLock, as it is held across the reload query
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  // Changes applied since the running reload started its query (null value: removed), guarded by this
+  private Map<Long, IndexedBooking> changedDuringReload;
+
+  public BookingIntervalIndex(AppointmentRepository appointmentRepository,
+                              @Value("${booking.conflict-window-minutes:60}") long conflictWindowMinutes) {
+    this.appointmentRepository = appointmentRepository;
+    this.conflictWindow = Duration.ofMinutes(conflictWindowMinutes);
+  }
+
+  /**
+   * Register a listener that follows every change of the index
+   * The listener immediately receives the current bookings, then each later change
+   * @param listener Listener to register
+   */
+  public synchronized void addListener(BookingIndexListener listener) {
+    listeners.add(listener);
+    listener.bookingsReloaded(currentStarts());
+  }
+
+  /**
+   * Build the index from the database once all beans are ready, before the web server accepts requests
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Check if a provider has an active booking within the conflict window of the given time
+   * Boundaries are inclusive, matching the previous BETWEEN query
+   * @param providerId Service provider ID
+   * @param appointmentDateTime Requested start time
+   * @return true if the slot is already taken
+   */
+  public boolean hasConflict(Long providerId, LocalDateTime appointmentDateTime) {
+    return hasConflict(providerId, appointmentDateTime, null);
+  }
+
+  /**
+   * Check if a provider has an active booking within the conflict window of the given time
+   * @param providerId Service provider ID
+   * @param appointmentDateTime Requested start time
+   * @param excludedAppointmentId Appointment to ignore (the one being rescheduled), may be null
+   * @return true if the slot is already taken
+   */
+  public boolean hasConflict(Long providerId, LocalDateTime appointmentDateTime, Long excludedAppointmentId) {
+    ProviderTimeline timeline = timelines.get(providerId);
+    return timeline != null && timeline.hasBookingBetween(
+      appointmentDateTime.minus(conflictWindow),
+      appointmentDateTime.plus(conflictWindow),
+      excludedAppointmentId
+    );
+  }
+
+  /**
+   * Keep the index current once an appointment change is committed
+   * @param event Appointment change
+   */
+  @TransactionalEventListener
+  public void onAppointmentChanged(AppointmentChangedEvent event) {
+    if (event.occupiesSlot()) {
+      put(event.getAppointmentId(), event.getServiceProviderId(), event.getAppointmentDateTime());
+    } else {
+      remove(event.getAppointmentId());
+    }
+  }
+
+  /**
+   * Add or move a booking
+   * @param appointmentId Appointment ID
+   * @param providerId Service provider ID
+   * @param appointmentDateTime Start time
+   */
+  public synchronized void put(Long appointmentId, Long providerId, LocalDateTime appointmentDateTime) {
+    IndexedBooking booking = new IndexedBooking(providerId, appointmentDateTime);
+    if (changedDuringReload != null) {
+      changedDuringReload.put(appointmentId, booking);
+    }
+    IndexedBooking previous = bookings.put(appointmentId, booking);
+    if (previous != null) {
+      timelines.get(previous.providerId()).remove(previous.start(), appointmentId);
+      notifyRemoved(previous);
+    }
+    timelines.computeIfAbsent(providerId, id -> new ProviderTimeline()).add(appointmentDateTime, appointmentId);
+    listeners.forEach(listener -> listener.bookingAdded(providerId, appointmentDateTime));
+  }
+
+  /**
+   * Remove a booking (deleted or cancelled appointment)
+   * @param appointmentId Appointment ID
+   */
+  public synchronized void remove(Long appointmentId) {
+    if (changedDuringReload != null) {
+      changedDuringReload.put(appointmentId, null);
+    }
+    IndexedBooking previous = bookings.remove(appointmentId);
+    if (previous != null) {
+      timelines.get(previous.providerId()).remove(previous.start(), appointmentId);
+      notifyRemoved(previous);
+    }
+  }
+
+  /**
+   * Get the window each booking blocks on both sides of its start time
+   * @return Conflict window
+   */
+  public Duration getConflictWindow() {
+    return conflictWindow;
+  }
+
+  /**
+   * Get the number of indexed bookings
+   * @return Number of bookings
+   */
+  public int size() {
+    return bookings.size();
+  }
+
+  /**
+   * Reload the whole index from the database
+   */
+  public void rebuild() {
+    reloadLock.lock();
+    try {
+      Map<Long, IndexedBooking> loaded = loadActiveBookings(indexHorizon());
+      synchronized (this) {
+        replaceWith(applyChangesDuringReload(loaded));
+      }
+      log.info("Booking index built with {} active bookings", loaded.size());
+    } finally {
+      endReload();
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Compare the index with the database and rebuild it if they disagree
+   * @return Report with the number of bookings on each side and the discrepancies found
+   */
+  public Map<String, Object> verifyConsistency() {
+    reloadLock.lock();
+    try {
+      LocalDateTime horizon = indexHorizon();
+      Map<Long, IndexedBooking> loaded = loadActiveBookings(horizon);
+      synchronized (this) {
+        return compareAndReplace(applyChangesDuringReload(loaded), horizon);
+      }
+    } finally {
+      endReload();
+      reloadLock.unlock();
+    }
+  }
+
+  // Helper method to compare the index with the expected bookings and swap them in; called holding the monitor
+  private Map<String, Object> compareAndReplace(Map<Long, IndexedBooking> expected, LocalDateTime horizon) {
+    int missing = 0;
+    for (Map.Entry<Long, IndexedBooking> entry : expected.entrySet()) {
+      if (!entry.getValue().equals(bookings.get(entry.getKey()))) {
+        missing++;
+      }
+    }
+    int stale = 0;
+    for (Map.Entry<Long, IndexedBooking> entry : bookings.entrySet()) {
+      if (!entry.getValue().start().isBefore(horizon) && !expected.containsKey(entry.getKey())) {
+        stale++;
+      }
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("databaseBookings", expected.size());
+    report.put("indexedBookings", bookings.size());
+    report.put("missingOrOutdated", missing);
+    report.put("stale", stale);
+    report.put("consistent", missing == 0 && stale == 0);
+
+    // Rebuilding also drops bookings that fell behind the horizon
+    replaceWith(expected);
+    if (missing > 0 || stale > 0) {
+      log.warn("Booking index was inconsistent with the database and has been rebuilt: {}", report);
+    }
+    return report;
+  }
+
+  // Helper method to start recording changes, then query the active bookings without holding the monitor
+  private Map<Long, IndexedBooking> loadActiveBookings(LocalDateTime horizon) {
+    synchronized (this) {
+      changedDuringReload = new HashMap<>();
+    }
+    Map<Long, IndexedBooking> loaded = new HashMap<>();
+    for (Object[] row : appointmentRepository.findActiveBookingSlots(horizon)) {
+      loaded.put((Long) row[0], new IndexedBooking((Long) row[1], (LocalDateTime) row[2]));
+    }
+    return loaded;
+  }
+
+  // Helper method to replay the changes recorded during the reload query (they are newer than the rows); called holding the monitor
+  private Map<Long, IndexedBooking> applyChangesDuringReload(Map<Long, IndexedBooking> loaded) {
+    changedDuringReload.forEach((appointmentId, booking) -> {
+      if (booking == null) {
+        loaded.remove(appointmentId);
+      } else {
+        loaded.put(appointmentId, booking);
+      }
+    });
+    changedDuringReload = null;
+    return loaded;
+  }
+
+  private synchronized void endReload() {
+    changedDuringReload = null;
+  }
+
+  // Helper method to swap in a fresh index built from the given bookings
+  private void replaceWith(Map<Long, IndexedBooking> expected) {
+    Map<Long, ProviderTimeline> newTimelines = new ConcurrentHashMap<>();
+    Map<Long, IndexedBooking> newBookings = new ConcurrentHashMap<>(expected);
+    expected.forEach((appointmentId, booking) -> newTimelines
+      .computeIfAbsent(booking.providerId(), id -> new ProviderTimeline())
+      .add(booking.start(), appointmentId));
+    this.bookings = newBookings;
+    this.timelines = newTimelines;
+    if (!listeners.isEmpty()) {
+      Map<Long, List<LocalDateTime>> starts = currentStarts();
+      listeners.forEach(listener -> listener.bookingsReloaded(starts));
+    }
+  }
+
+  // Helper method to report a removed booking together with the remaining bookings whose windows may overlap its window
+  private void notifyRemoved(IndexedBooking removed) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    Duration reach = conflictWindow.multipliedBy(2);
+    List<LocalDateTime> nearbyStarts = timelines.get(removed.providerId())
+      .startsBetween(removed.start().minus(reach), removed.start().plus(reach));
+    listeners.forEach(listener -> listener.bookingRemoved(removed.providerId(), removed.start(), nearbyStarts));
+  }
+
+  // Helper method to list the start times of all indexed bookings per provider
+  private Map<Long, List<LocalDateTime>> currentStarts() {
+    Map<Long, List<LocalDateTime>> starts = new HashMap<>();
+    for (IndexedBooking booking : bookings.values()) {
+      starts.computeIfAbsent(booking.providerId(), id -> new ArrayList<>()).add(booking.start());
+    }
+    return starts;
+  }
+
+  // Bookings starting before this instant can no longer conflict with a future appointment
+  private LocalDateTime indexHorizon() {
+    return LocalDateTime.now().minus(conflictWindow);
+  }
+
+  /**
+   * Location of a booking in the index
+   */
+  private record IndexedBooking(Long providerId, LocalDateTime start) {
+  }
+
+  /**
+   * Sorted start times of one provider's active bookings
+   * Several appointments may share a start time (legacy data), so each time maps to a set of IDs
+   */
+  private static final class ProviderTimeline {
+
+    private final NavigableMap<LocalDateTime, Set<Long>> starts = new TreeMap<>();
+
+    synchronized void add(LocalDateTime start, Long appointmentId) {
+      starts.computeIfAbsent(start, time -> new HashSet<>()).add(appointmentId);
+    }
+
+    synchronized void remove(LocalDateTime start, Long appointmentId) {
+      Set<Long> ids = starts.get(start);
+      if (ids != null && ids.remove(appointmentId) && ids.isEmpty()) {
+        starts.remove(start);
+      }
+    }
+
+    synchronized List<LocalDateTime> startsBetween(LocalDateTime from, LocalDateTime to) {
+      return new ArrayList<>(starts.subMap(from, true, to, true).keySet());
+    }
+
+    synchronized boolean hasBookingBetween(LocalDateTime from, LocalDateTime to, Long excludedAppointmentId) {
+      if (excludedAppointmentId == null) {
+        LocalDateTime first = starts.ceilingKey(from);
+        return first != null && !first.isAfter(to);
+      }
+      for (Set<Long> ids : starts.subMap(from, true, to, true).values()) {
+        if (ids.size() > 1 || !Objects.equals(ids.iterator().next(), excludedAppointmentId)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
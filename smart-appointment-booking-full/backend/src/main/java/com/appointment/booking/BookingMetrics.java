@@ -0,0 +1,53 @@
+package com.appointment.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters for the outcome of booking requests
+ * booking.conflicts counts requests that hit an existing booking of the provider;
+ * booking.rejected counts every refused booking, tagged with the reason.
+ */
+@Component
+public class BookingMetrics {
+
+  /**
+   * Why a booking was refused
+   */
+  public enum Reason {
+    CONFLICT,
+    PAST_DATE,
+    NOT_A_PROVIDER,
+    LOCK_TIMEOUT
+  }
+
+  private final Counter conflictCounter;
+  private final Map<Reason, Counter> rejectedCounters = new EnumMap<>(Reason.class);
+
+  public BookingMetrics(MeterRegistry meterRegistry) {
+    this.conflictCounter = Counter.builder("booking.conflicts")
+      .description("Booking requests for a slot the provider already has booked")
+      .register(meterRegistry);
+    for (Reason reason : Reason.values()) {
+      rejectedCounters.put(reason, Counter.builder("booking.rejected")
+        .description("Booking requests refused by a business rule")
+        .tag("reason", reason.name().toLowerCase())
+        .register(meterRegistry));
+    }
+  }
+
+  /**
+   * Record a refused booking
+   * @param reason Why it was refused
+   */
+  public void rejected(Reason reason) {
+    if (reason == Reason.CONFLICT) {
+      conflictCounter.increment();
+    }
+    rejectedCounters.get(reason).increment();
+  }
+}
@@ -0,0 +1,195 @@
+package com.appointment.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by service provider ID
+ * Serializes the check-then-insert of bookings for the same provider while bookings for
+ * providers on other stripes run in parallel. Locks are fair and acquisition is bounded by a timeout.
+ *
+ * Locks are local to this JVM; they close the race between concurrent requests on one instance.
+ */
+@Component
+@Slf4j
+public class ProviderLockStripes {
+
+  private final ReentrantLock[] stripes;
+  private final long timeoutMillis;
+
+  private final Timer waitTimer;
+  private final Counter contendedCounter;
+  private final Counter timeoutCounter;
+
+  public ProviderLockStripes(@Value("${booking.lock.stripes:64}") int stripeCount,
+                             @Value("${booking.lock.timeout-ms:2000}") long timeoutMillis,
+                             MeterRegistry meterRegistry) {
+    // Round up to a power of two so the stripe can be selected with a mask
+    int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+    this.stripes = new ReentrantLock[size];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock(true);
+    }
+    this.timeoutMillis = timeoutMillis;
+
+    this.waitTimer = Timer.builder("booking.lock.wait")
+      .description("Time spent waiting for a provider booking lock")
+      .register(meterRegistry);
+    this.contendedCounter = Counter.builder("booking.lock.contended")
+      .description("Provider lock acquisitions that had to wait for another booking")
+      .register(meterRegistry);
+    this.timeoutCounter = Counter.builder("booking.lock.timeouts")
+      .description("Provider lock acquisitions that gave up after the timeout")
+      .register(meterRegistry);
+    Gauge.builder("booking.lock.waiting", this, ProviderLockStripes::waitingThreads)
+      .description("Threads currently waiting for a provider booking lock")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Lock the provider's stripe and keep it until the current transaction commits or rolls back
+   * The lock is released after the after-commit listeners ran, so derived state such as the
+   * booking index is already up to date for the next booking of this provider.
+   * @param providerId Service provider ID
+   * @throws IllegalStateException if no transaction is active or the lock could not be acquired in time
+   */
+  public void lockUntilTransactionEnds(Long providerId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Provider lock requires an active transaction");
+    }
+    Handle handle = acquire(providerId);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        handle.close();
+      }
+    });
+  }
+
+  /**
+   * Lock the stripes of several providers and keep them until the current transaction commits or rolls back
+   * Stripes are always taken in ascending index order, so two batches sharing providers cannot deadlock.
+   * If one stripe times out, the ones already taken are released before the exception propagates.
+   * @param providerIds Service provider IDs
+   * @throws IllegalStateException if no transaction is active or a lock could not be acquired in time
+   */
+  public void lockAllUntilTransactionEnds(Collection<Long> providerIds) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Provider lock requires an active transaction");
+    }
+    int[] indexes = providerIds.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+    List<Handle> handles = new ArrayList<>(indexes.length);
+    try {
+      for (int index : indexes) {
+        handles.add(acquire(stripes[index], null));
+      }
+    } catch (RuntimeException e) {
+      releaseAll(handles);
+      throw e;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        releaseAll(handles);
+      }
+    });
+  }
+
+  /**
+   * Lock the provider's stripe
+   * @param providerId Service provider ID
+   * @return Handle releasing the lock when closed
+   * @throws IllegalStateException if the lock could not be acquired in time
+   */
+  public Handle acquire(Long providerId) {
+    return acquire(stripes[stripeIndex(providerId)], providerId);
+  }
+
+  // providerId is null for a batch, it only labels the failure messages
+  private Handle acquire(ReentrantLock lock, Long providerId) {
+    if (lock.tryLock()) {
+      waitTimer.record(0, TimeUnit.NANOSECONDS);
+      return new Handle(lock);
+    }
+
+    contendedCounter.increment();
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      // The timed tryLock honours the fairness policy
+      acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to book with " + owner(providerId), e);
+    } finally {
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      timeoutCounter.increment();
+      log.warn("Timed out after {} ms waiting for booking lock of {}", timeoutMillis, owner(providerId));
+      throw new IllegalStateException("Too many concurrent bookings for this service provider, please try again");
+    }
+    return new Handle(lock);
+  }
+
+  /**
+   * Get the number of stripes
+   * @return Stripe count (a power of two)
+   */
+  public int getStripeCount() {
+    return stripes.length;
+  }
+
+  private static String owner(Long providerId) {
+    return providerId == null ? "a provider batch" : "provider " + providerId;
+  }
+
+  private int stripeIndex(Long providerId) {
+    int hash = Long.hashCode(providerId);
+    hash ^= (hash >>> 16);
+    return hash & (stripes.length - 1);
+  }
+
+  // Release in reverse acquisition order
+  private static void releaseAll(List<Handle> handles) {
+    for (int i = handles.size() - 1; i >= 0; i--) {
+      handles.get(i).close();
+    }
+  }
+
+  private double waitingThreads() {
+    return Arrays.stream(stripes).mapToInt(ReentrantLock::getQueueLength).sum();
+  }
+
+  /**
+   * Held provider lock
+   */
+  public static final class Handle implements AutoCloseable {
+
+    private final ReentrantLock lock;
+
+    private Handle(ReentrantLock lock) {
+      this.lock = lock;
+    }
+
+    @Override
+    public void close() {
+      lock.unlock();
+    }
+  }
+}
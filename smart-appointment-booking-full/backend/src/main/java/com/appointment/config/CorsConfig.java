@@ -22,6 +22,7 @@ public class CorsConfig {
             )
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
             .allowedHeaders("*")
+            .exposedHeaders("X-Next-Cursor", "X-Total-Count", "X-Search-Capped")
             .allowCredentials(true);
             }
         };
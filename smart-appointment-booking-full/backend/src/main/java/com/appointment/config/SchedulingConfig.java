@@ -0,0 +1,12 @@
+package com.appointment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background maintenance jobs (see com.appointment.scheduler)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,6 +3,14 @@ package com.appointment.controller;
 import com.appointment.dto.AppointmentRequest;
 import com.appointment.dto.AppointmentResponse;
 import com.appointment.dto.ApiResponse;
+import com.appointment.dto.BatchAppointmentRequest;
+import com.appointment.dto.BatchBookingResult;
+import com.appointment.dto.CursorPage;
+import com.appointment.dto.SearchPage;
+import com.appointment.export.AppointmentExportFilter;
+import com.appointment.export.AppointmentExporter;
+import com.appointment.export.ExportFormat;
+import com.appointment.feed.AppointmentEventHub;
 import com.appointment.model.Appointment;
 import com.appointment.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,11 +18,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,32 +44,63 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000")
 @Tag(name = "Appointment Management", description = "APIs for managing appointments")
 public class AppointmentController {
+  /**
+   * Response header carrying the continuation token of a paginated listing
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * Response headers carrying the number of search matches and whether the result cap was hit
+   */
+  public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  public static final String SEARCH_CAPPED_HEADER = "X-Search-Capped";
+
+  private final AppointmentService appointmentService;
+  private final AppointmentExporter appointmentExporter;
+  private final AppointmentEventHub eventHub;
+
   /**
    * Get all appointments as a map (id -> AppointmentResponse)
    * GET /api/v1/appointments/map
+   * GET /api/v1/appointments/map?limit=50&cursor=... (paginated, next cursor in X-Next-Cursor header)
    * Actors: ADMIN, PROVIDER
    */
   @GetMapping("/map")
   @Operation(summary = "Get all appointments as map", description = "Retrieve all appointments as a map of id to details")
-  public ResponseEntity<ApiResponse<Map<Long, AppointmentResponse>>> getAllAppointmentsMap() {
-    List<AppointmentResponse> appointments = appointmentService.getAllAppointments();
-    Map<Long, AppointmentResponse> map = appointments.stream()
-      .collect(Collectors.toMap(AppointmentResponse::getId, a -> a));
-    return ResponseEntity.ok(new ApiResponse<>(true, "Appointments map retrieved successfully", map));
+  public ResponseEntity<ApiResponse<Map<Long, AppointmentResponse>>> getAllAppointmentsMap(
+    @RequestParam(required = false) Integer limit,
+    @RequestParam(required = false) String cursor) {
+    if (limit == null && cursor == null) {
+      List<AppointmentResponse> appointments = appointmentService.getAllAppointments();
+      Map<Long, AppointmentResponse> map = appointments.stream()
+        .collect(Collectors.toMap(AppointmentResponse::getId, a -> a));
+      return ResponseEntity.ok(new ApiResponse<>(true, "Appointments map retrieved successfully", map));
+    }
+    CursorPage<AppointmentResponse> page = appointmentService.getAppointmentsPage(cursor, limit);
+    Map<Long, AppointmentResponse> map = page.getItems().stream()
+      .collect(Collectors.toMap(AppointmentResponse::getId, a -> a, (a, b) -> a, LinkedHashMap::new));
+    return withNextCursor(page)
+      .body(new ApiResponse<>(true, "Appointments map retrieved successfully", map));
   }
 
-  private final AppointmentService appointmentService;
-
   /**
    * Get all appointments
    * GET /api/v1/appointments
+   * GET /api/v1/appointments?limit=50&cursor=... (paginated, next cursor in X-Next-Cursor header)
    * Actors: ADMIN, PROVIDER
    */
   @GetMapping
-  @Operation(summary = "Get all appointments", description = "Retrieve list of all appointments")
-  public ResponseEntity<ApiResponse<List<AppointmentResponse>>> getAllAppointments() {
-    List<AppointmentResponse> appointments = appointmentService.getAllAppointments();
-    return ResponseEntity.ok(new ApiResponse<>(true, "Appointments retrieved successfully", appointments));
+  @Operation(summary = "Get all appointments", description = "Retrieve list of all appointments, optionally one page at a time")
+  public ResponseEntity<ApiResponse<List<AppointmentResponse>>> getAllAppointments(
+    @RequestParam(required = false) Integer limit,
+    @RequestParam(required = false) String cursor) {
+    if (limit == null && cursor == null) {
+      List<AppointmentResponse> appointments = appointmentService.getAllAppointments();
+      return ResponseEntity.ok(new ApiResponse<>(true, "Appointments retrieved successfully", appointments));
+    }
+    CursorPage<AppointmentResponse> page = appointmentService.getAppointmentsPage(cursor, limit);
+    return withNextCursor(page)
+      .body(new ApiResponse<>(true, "Appointments retrieved successfully", page.getItems()));
   }
 
   /**
@@ -84,6 +130,20 @@ public class AppointmentController {
       .body(new ApiResponse<>(true, "Appointment created successfully", appointment));
   }
 
+  /**
+   * Book appointments in one batch
+   * POST /api/v1/appointments/batch
+   * Items are accepted or rejected individually; the result list is in request order
+   */
+  @PostMapping("/batch")
+  @Operation(summary = "Create appointments in batch", description = "Book up to " + BatchAppointmentRequest.MAX_APPOINTMENTS + " appointments with per-item results")
+  public ResponseEntity<ApiResponse<List<BatchBookingResult>>> createAppointments(
+    @Valid @RequestBody BatchAppointmentRequest request) {
+    List<BatchBookingResult> results = appointmentService.createAppointments(request.getAppointments());
+    long created = results.stream().filter(result -> result.getStatus() == BatchBookingResult.Status.CREATED).count();
+    return ResponseEntity.ok(new ApiResponse<>(true, created + " of " + results.size() + " appointments booked", results));
+  }
+
   /**
    * Update appointment
    * PUT /api/appointments/{id}
@@ -115,9 +175,13 @@ public class AppointmentController {
   @GetMapping("/customer/{customerId}")
   @Operation(summary = "Get customer appointments", description = "Get all appointments for a specific customer")
   public ResponseEntity<ApiResponse<List<AppointmentResponse>>> getAppointmentsByCustomer(
-    @PathVariable Long customerId) {
+    @PathVariable Long customerId, WebRequest request) {
+    String eTag = ConditionalGet.eTag(appointmentService.getCustomerAppointmentsVersion(customerId));
+    if (request.checkNotModified(eTag)) {
+      return ConditionalGet.notModified(eTag);
+    }
     List<AppointmentResponse> appointments = appointmentService.getAppointmentsByCustomer(customerId);
-    return ResponseEntity.ok(new ApiResponse<>(true, "Customer appointments retrieved", appointments));
+    return ConditionalGet.ok(eTag).body(new ApiResponse<>(true, "Customer appointments retrieved", appointments));
   }
 
   /**
@@ -127,9 +191,13 @@ public class AppointmentController {
   @GetMapping("/provider/{providerId}")
   @Operation(summary = "Get provider appointments", description = "Get all appointments for a service provider")
   public ResponseEntity<ApiResponse<List<AppointmentResponse>>> getAppointmentsByProvider(
-    @PathVariable Long providerId) {
+    @PathVariable Long providerId, WebRequest request) {
+    String eTag = ConditionalGet.eTag(appointmentService.getProviderAppointmentsVersion(providerId));
+    if (request.checkNotModified(eTag)) {
+      return ConditionalGet.notModified(eTag);
+    }
     List<AppointmentResponse> appointments = appointmentService.getAppointmentsByProvider(providerId);
-    return ResponseEntity.ok(new ApiResponse<>(true, "Provider appointments retrieved", appointments));
+    return ConditionalGet.ok(eTag).body(new ApiResponse<>(true, "Provider appointments retrieved", appointments));
   }
 
   /**
@@ -176,14 +244,21 @@ public class AppointmentController {
 
   /**
    * Search appointments
-   * GET /api/appointments/search?keyword=value
+   * GET /api/appointments/search?keyword=value&page=0&size=50
+   * Results are ranked; the number of matches is returned in the X-Total-Count header and
+   * X-Search-Capped is true when the search stopped at the result cap
    */
   @GetMapping("/search")
   @Operation(summary = "Search appointments", description = "Search appointments by keyword")
   public ResponseEntity<ApiResponse<List<AppointmentResponse>>> searchAppointments(
-    @RequestParam String keyword) {
-    List<AppointmentResponse> appointments = appointmentService.searchAppointments(keyword);
-    return ResponseEntity.ok(new ApiResponse<>(true, "Search results", appointments));
+    @RequestParam String keyword,
+    @RequestParam(required = false) Integer page,
+    @RequestParam(required = false) Integer size) {
+    SearchPage<AppointmentResponse> results = appointmentService.searchAppointments(keyword, page, size);
+    return ResponseEntity.ok()
+      .header(TOTAL_COUNT_HEADER, String.valueOf(results.getTotalMatches()))
+      .header(SEARCH_CAPPED_HEADER, String.valueOf(results.isCapped()))
+      .body(new ApiResponse<>(true, "Search results", results.getItems()));
   }
 
   /**
@@ -199,14 +274,67 @@ public class AppointmentController {
     return ResponseEntity.ok(new ApiResponse<>(true, "Appointments in date range", appointments));
   }
 
+  /**
+   * Export appointments as NDJSON or CSV
+   * GET /api/v1/appointments/export?format=csv&start=...&end=...&status=...&providerId=...
+   * Rows are streamed from the database to the client, so the export size is not limited by memory
+   */
+  @GetMapping("/export")
+  @Operation(summary = "Export appointments", description = "Stream appointments as NDJSON or CSV, optionally filtered")
+  public ResponseEntity<StreamingResponseBody> exportAppointments(
+    @RequestParam(defaultValue = "ndjson") String format,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+    @RequestParam(required = false) Appointment.Status status,
+    @RequestParam(required = false) Long providerId) {
+    // Validated before streaming starts, errors after the first byte can no longer change the status code
+    ExportFormat exportFormat = ExportFormat.fromParameter(format);
+    AppointmentExportFilter filter = new AppointmentExportFilter(start, end, status, providerId);
+    StreamingResponseBody body = out -> appointmentExporter.export(filter, exportFormat, out);
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+      .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename("appointments." + exportFormat.getFileExtension()).build().toString())
+      .body(body);
+  }
+
+  /**
+   * Subscribe to appointment changes
+   * GET /api/v1/appointments/events?providerId=...&customerId=...
+   * Server-Sent Events stream of committed creates, updates, status changes and deletions.
+   * Reconnecting clients send Last-Event-ID (or lastEventId for the first connection) to resume.
+   */
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Appointment events", description = "Stream appointment changes as Server-Sent Events, optionally filtered")
+  public SseEmitter streamAppointmentEvents(
+    @RequestParam(required = false) Long providerId,
+    @RequestParam(required = false) Long customerId,
+    @RequestParam(required = false) String lastEventId,
+    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+    return eventHub.subscribe(providerId, customerId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+  }
+
   /**
    * Get appointment statistics
    * GET /api/appointments/stats
    */
   @GetMapping("/stats")
   @Operation(summary = "Get statistics", description = "Get appointment statistics")
-  public ResponseEntity<ApiResponse<Object>> getAppointmentStats() {
+  public ResponseEntity<ApiResponse<Object>> getAppointmentStats(WebRequest request) {
+    String eTag = ConditionalGet.eTag(appointmentService.getAppointmentStatisticsVersion());
+    if (request.checkNotModified(eTag)) {
+      return ConditionalGet.notModified(eTag);
+    }
     Object stats = appointmentService.getAppointmentStatistics();
-    return ResponseEntity.ok(new ApiResponse<>(true, "Statistics retrieved", stats));
+    return ConditionalGet.ok(eTag).body(new ApiResponse<>(true, "Statistics retrieved", stats));
+  }
+
+  // Helper method to start an OK response carrying the next page cursor, if any
+  private ResponseEntity.BodyBuilder withNextCursor(CursorPage<?> page) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    if (page.hasMore()) {
+      builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return builder;
   }
-}
\ No newline at end of file
+}
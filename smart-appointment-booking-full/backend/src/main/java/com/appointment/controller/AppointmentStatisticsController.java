@@ -0,0 +1,67 @@
+package com.appointment.controller;
+
+import com.appointment.dto.ApiResponse;
+import com.appointment.service.AppointmentStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for Appointment Statistics
+ * Breakdowns complementing the summary at GET /api/v1/appointments/stats
+ */
+@RestController
+@RequestMapping("/api/v1/appointments/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Appointment Statistics", description = "APIs for appointment statistics")
+public class AppointmentStatisticsController {
+
+  private final AppointmentStatisticsService statisticsService;
+
+  /**
+   * Get appointment counts per service type
+   * GET /api/v1/appointments/stats/service-types
+   * Actors: ADMIN
+   */
+  @GetMapping("/service-types")
+  @Operation(summary = "Statistics by service type", description = "Appointment counts per service type and status")
+  public ResponseEntity<ApiResponse<Map<String, Map<String, Long>>>> getStatisticsByServiceType() {
+    Map<String, Map<String, Long>> stats = statisticsService.getStatisticsByServiceType();
+    return ResponseEntity.ok(new ApiResponse<>(true, "Statistics by service type retrieved", stats));
+  }
+
+  /**
+   * Get appointment counts per service provider
+   * GET /api/v1/appointments/stats/providers
+   * Actors: ADMIN
+   */
+  @GetMapping("/providers")
+  @Operation(summary = "Statistics by provider", description = "Appointment counts per service provider and status")
+  public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getStatisticsByProvider() {
+    List<Map<String, Object>> stats = statisticsService.getStatisticsByProvider();
+    return ResponseEntity.ok(new ApiResponse<>(true, "Statistics by provider retrieved", stats));
+  }
+
+  /**
+   * Get appointment counts per time bucket
+   * GET /api/v1/appointments/stats/timeline?start=...&end=...&bucket=DAY|WEEK|MONTH
+   * Actors: ADMIN
+   */
+  @GetMapping("/timeline")
+  @Operation(summary = "Statistics by time bucket", description = "Appointment counts per day, week or month in a date range")
+  public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getStatisticsByTimeBucket(
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+    @RequestParam(defaultValue = "DAY") AppointmentStatisticsService.TimeBucket bucket) {
+    List<Map<String, Object>> stats = statisticsService.getStatisticsByTimeBucket(start, end, bucket);
+    return ResponseEntity.ok(new ApiResponse<>(true, "Statistics timeline retrieved", stats));
+  }
+}
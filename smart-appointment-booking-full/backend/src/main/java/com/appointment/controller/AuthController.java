@@ -5,7 +5,6 @@ import com.appointment.dto.UserRequest;
 import com.appointment.dto.UserResponse;
 import com.appointment.model.User;
 import com.appointment.service.UserService;
-import com.appointment.service.AppointmentCleanupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,7 +20,6 @@ public class AuthController {
 
     private final com.appointment.repository.UserRepository userRepository;
     private final UserService userService;
-    private final AppointmentCleanupService appointmentCleanupService;
 
     /**
      * Login endpoint: POST /api/auth/login
@@ -38,11 +36,6 @@ public class AuthController {
         if (user == null || !user.getPassword().equals(password)) {
             return ResponseEntity.ok(new ApiResponse<>(false, "Invalid email or password", null));
         }
-        // Cleanup expired unconfirmed appointments on login
-        int removed = appointmentCleanupService.removeExpiredUnconfirmedAppointments();
-        if (removed > 0) {
-            // Optionally log or handle removed count
-        }
         UserResponse response = userService.getUserByEmail(user.getEmail());
         return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response));
     }
@@ -0,0 +1,45 @@
+package com.appointment.controller;
+
+import com.appointment.dto.ApiResponse;
+import com.appointment.dto.ProviderAvailability;
+import com.appointment.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for Provider Availability
+ * Lets clients pick a free slot instead of guessing a time and retrying on conflicts
+ */
+@RestController
+@RequestMapping("/api/v1/providers")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Provider Availability", description = "APIs for free appointment slots")
+public class AvailabilityController {
+
+  private final AvailabilityService availabilityService;
+
+  /**
+   * Get the free slots of a service provider
+   * GET /api/v1/providers/{id}/availability?from=2025-01-06&to=2025-01-12
+   * Defaults to the next 7 days starting today
+   * Actors: CUSTOMER
+   */
+  @GetMapping("/{id}/availability")
+  @Operation(summary = "Provider availability", description = "Free slot start times per day within working hours")
+  public ResponseEntity<ApiResponse<ProviderAvailability>> getAvailability(
+    @PathVariable Long id,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    LocalDate start = from != null ? from : LocalDate.now();
+    LocalDate end = to != null ? to : start.plusDays(6);
+    ProviderAvailability availability = availabilityService.getAvailability(id, start, end);
+    return ResponseEntity.ok(new ApiResponse<>(true, "Availability retrieved", availability));
+  }
+}
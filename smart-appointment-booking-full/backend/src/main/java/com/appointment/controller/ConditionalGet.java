@@ -0,0 +1,52 @@
+package com.appointment.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for conditional GET on list endpoints
+ * The ETag is derived from a version the service computes cheaply (an aggregate query or an in-memory
+ * counter); a request whose If-None-Match matches it is answered with 304 before any entity is loaded.
+ *
+ * Tags are weak: ApiResponse bodies carry a timestamp, so equal data is not byte-identical, and Tomcat
+ * does not compress responses with a strong ETag. Responses are marked no-cache so browsers revalidate
+ * on every use. The version is read before the data, so a concurrent write can only cost an extra 200.
+ */
+final class ConditionalGet {
+
+  private ConditionalGet() {
+  }
+
+  /**
+   * Build the ETag for a version
+   * @param version Version of the resource as computed by the service
+   * @return Weak entity tag
+   */
+  static String eTag(String version) {
+    return "W/\"" + version + "\"";
+  }
+
+  /**
+   * Build the 304 response for a matching If-None-Match
+   * @param eTag Current entity tag
+   * @return Not Modified response without body
+   */
+  static <T> ResponseEntity<T> notModified(String eTag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+      .eTag(eTag)
+      .cacheControl(CacheControl.noCache())
+      .build();
+  }
+
+  /**
+   * Start an OK response carrying the entity tag
+   * @param eTag Current entity tag
+   * @return Response builder for the body
+   */
+  static ResponseEntity.BodyBuilder ok(String eTag) {
+    return ResponseEntity.ok()
+      .eTag(eTag)
+      .cacheControl(CacheControl.noCache());
+  }
+}
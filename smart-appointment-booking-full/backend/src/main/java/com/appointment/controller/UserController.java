@@ -1,8 +1,10 @@
 package com.appointment.controller;
 
 import com.appointment.dto.ApiResponse;
+import com.appointment.dto.BulkUserRequest;
 import com.appointment.dto.UserRequest;
 import com.appointment.dto.UserResponse;
+import com.appointment.model.User;
 import com.appointment.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -64,6 +67,20 @@ public class UserController {
       .body(new ApiResponse<>(true, "User created successfully", user));
   }
 
+  /**
+   * Create users in bulk
+   * POST /api/v1/users/bulk
+   * Actors: ADMIN
+   */
+  @PostMapping("/bulk")
+  @Operation(summary = "Create users in bulk", description = "Register up to " + BulkUserRequest.MAX_USERS + " users in one request")
+  public ResponseEntity<ApiResponse<List<UserResponse>>> createUsers(@Valid @RequestBody BulkUserRequest request) {
+    List<UserResponse> users = userService.createUsers(request.getUsers());
+    return ResponseEntity
+      .status(HttpStatus.CREATED)
+      .body(new ApiResponse<>(true, users.size() + " users created successfully", users));
+  }
+
   /**
    * Update user
    * PUT /api/users/{id}
@@ -94,9 +111,13 @@ public class UserController {
    */
   @GetMapping("/providers")
   @Operation(summary = "Get service providers", description = "Get all active service providers")
-  public ResponseEntity<ApiResponse<List<UserResponse>>> getAllServiceProviders() {
+  public ResponseEntity<ApiResponse<List<UserResponse>>> getAllServiceProviders(WebRequest request) {
+    String eTag = ConditionalGet.eTag(userService.getServiceProvidersVersion());
+    if (request.checkNotModified(eTag)) {
+      return ConditionalGet.notModified(eTag);
+    }
     List<UserResponse> providers = userService.getAllServiceProviders();
-    return ResponseEntity.ok(new ApiResponse<>(true, "Service providers retrieved", providers));
+    return ConditionalGet.ok(eTag).body(new ApiResponse<>(true, "Service providers retrieved", providers));
   }
 
   /**
@@ -120,4 +141,18 @@ public class UserController {
     List<UserResponse> users = userService.searchUsersByName(name);
     return ResponseEntity.ok(new ApiResponse<>(true, "Search results", users));
   }
-}
\ No newline at end of file
+
+  /**
+   * Autocomplete users by name, word of the name or email prefix
+   * GET /api/users/autocomplete?prefix=jo&limit=10&role=SERVICE_PROVIDER
+   */
+  @GetMapping("/autocomplete")
+  @Operation(summary = "Autocomplete users", description = "Find active users whose name or email starts with a prefix")
+  public ResponseEntity<ApiResponse<List<UserResponse>>> autocompleteUsers(
+    @RequestParam String prefix,
+    @RequestParam(required = false) Integer limit,
+    @RequestParam(required = false) User.Role role) {
+    List<UserResponse> users = userService.autocompleteUsers(prefix, limit, role);
+    return ResponseEntity.ok(new ApiResponse<>(true, "Suggestions", users));
+  }
+}
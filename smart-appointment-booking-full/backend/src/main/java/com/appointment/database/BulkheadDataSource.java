@@ -0,0 +1,137 @@
+package com.appointment.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource wrapper limiting the number of connections in use at once (bulkhead)
+ * With virtual threads there is no worker pool capping concurrency, so any number of requests
+ * may ask for a connection at the same time. A fair semaphore queues them in front of the pool
+ * and fails with a transient exception once the wait exceeds the timeout, so a slow database
+ * sheds load instead of piling up waiting threads.
+ *
+ * A permit is taken when a connection is handed out and returned when it is closed.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long timeoutMillis;
+
+  private final Timer waitTimer;
+  private final Counter rejectedCounter;
+
+  public BulkheadDataSource(DataSource target, int maxConcurrent, long timeoutMillis, MeterRegistry meterRegistry) {
+    super(target);
+    if (maxConcurrent <= 0) {
+      throw new IllegalArgumentException("Database bulkhead needs at least one permit");
+    }
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.timeoutMillis = timeoutMillis;
+
+    this.waitTimer = Timer.builder("database.bulkhead.wait")
+      .description("Time spent waiting for a database bulkhead permit")
+      .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("database.bulkhead.rejected")
+      .description("Connection requests that gave up after the bulkhead timeout")
+      .register(meterRegistry);
+    Gauge.builder("database.bulkhead.waiting", permits, Semaphore::getQueueLength)
+      .description("Threads currently waiting for a database bulkhead permit")
+      .register(meterRegistry);
+    Gauge.builder("database.bulkhead.available", permits, Semaphore::availablePermits)
+      .description("Free database bulkhead permits")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return guard(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return guard(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Number of permits currently free
+   */
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  private void acquire() throws SQLException {
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+    }
+    waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    if (!acquired) {
+      rejectedCounter.increment();
+      throw new SQLTransientConnectionException(
+        "Database is busy, no connection available within " + timeoutMillis + " ms");
+    }
+  }
+
+  /**
+   * Wrap the connection so that closing it returns the permit exactly once
+   */
+  private Connection guard(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    InvocationHandler handler = (proxy, method, args) -> {
+      if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+        try {
+          return invoke(connection, method, args);
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            permits.release();
+          }
+        }
+      }
+      if ("unwrap".equals(method.getName()) && args[0] == Connection.class) {
+        return proxy;
+      }
+      return invoke(connection, method, args);
+    };
+    return (Connection) Proxy.newProxyInstance(
+      Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+  }
+
+  private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(connection, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
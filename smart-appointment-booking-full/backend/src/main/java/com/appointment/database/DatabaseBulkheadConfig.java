@@ -0,0 +1,38 @@
+package com.appointment.database;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the database bulkhead in front of the connection pool
+ * Enabled by default; database.bulkhead.enabled=false exposes the pool directly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "database.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+  @Bean
+  public static BeanPostProcessor dataSourceBulkheadPostProcessor(Environment environment,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+          return bean;
+        }
+        // Default: as many permits as the pool has connections, so requests queue here instead of in the pool
+        int permits = environment.getProperty("database.bulkhead.permits", Integer.class,
+          environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("database.bulkhead.timeout-ms", Long.class, 5000L);
+        return new BulkheadDataSource(dataSource, permits, timeoutMillis, meterRegistry.getObject());
+      }
+    };
+  }
+}
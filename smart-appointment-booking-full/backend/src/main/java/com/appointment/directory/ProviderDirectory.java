@@ -0,0 +1,192 @@
+package com.appointment.directory;
+
+import com.appointment.dto.UserResponse;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.event.UsersCreatedEvent;
+import com.appointment.model.User;
+import com.appointment.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of active service providers
+ * Readers work on an immutable, versioned snapshot without locking or touching the database.
+ * Every change copies the snapshot, applies the change and publishes the new version
+ * (copy-on-write); providers change rarely, so the copy is cheap compared to the reads it saves.
+ *
+ * Kept up to date from user change events. A provider missing from the snapshot (e.g. written
+ * around the user service) is looked up once in the database and added.
+ */
+@Component
+@Slf4j
+public class ProviderDirectory implements SmartInitializingSingleton {
+
+  private final UserRepository userRepository;
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  public ProviderDirectory(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  /**
+   * Active service provider as kept in the directory
+   */
+  public record Provider(Long id, String name, String email, String phone, LocalDateTime createdAt) {
+
+    static Provider of(User user) {
+      return new Provider(user.getId(), user.getName(), user.getEmail(), user.getPhone(), user.getCreatedAt());
+    }
+
+    static Provider of(UserChangedEvent event) {
+      return new Provider(event.getUserId(), event.getName(), event.getEmail(), event.getPhone(), event.getCreatedAt());
+    }
+
+    /**
+     * Convert to a new response DTO (callers may modify it freely)
+     */
+    public UserResponse toResponse() {
+      UserResponse response = new UserResponse();
+      response.setId(id);
+      response.setName(name);
+      response.setEmail(email);
+      response.setPhone(phone);
+      response.setRole(User.Role.SERVICE_PROVIDER);
+      response.setActive(true);
+      response.setCreatedAt(createdAt);
+      return response;
+    }
+  }
+
+  /**
+   * Immutable state of the directory: providers by ID and in ID order
+   */
+  private record Snapshot(long version, Map<Long, Provider> byId, List<Provider> ordered) {
+
+    static final Snapshot EMPTY = new Snapshot(0, Map.of(), List.of());
+
+    static Snapshot of(long version, TreeMap<Long, Provider> providers) {
+      return new Snapshot(version, Collections.unmodifiableMap(providers), List.copyOf(providers.values()));
+    }
+
+    TreeMap<Long, Provider> copy() {
+      return new TreeMap<>(byId);
+    }
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Replace the snapshot with the active service providers from the database
+   */
+  public synchronized void rebuild() {
+    TreeMap<Long, Provider> providers = userRepository.findAllActiveServiceProviders().stream()
+      .collect(Collectors.toMap(User::getId, Provider::of, (a, b) -> b, TreeMap::new));
+    snapshot = Snapshot.of(snapshot.version() + 1, providers);
+    log.info("Provider directory loaded with {} providers", providers.size());
+  }
+
+  /**
+   * Apply a committed user change to the directory
+   * @param event User change
+   */
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    if (event.isActiveProvider()) {
+      put(Provider.of(event));
+    } else {
+      remove(event.getUserId());
+    }
+  }
+
+  /**
+   * Apply a committed bulk insert to the directory with a single snapshot copy
+   * @param event New users
+   */
+  @TransactionalEventListener
+  public void onUsersCreated(UsersCreatedEvent event) {
+    putAll(event.getUsers().stream()
+      .filter(UserChangedEvent::isActiveProvider)
+      .map(Provider::of)
+      .toList());
+  }
+
+  /**
+   * Get all active service providers, ordered by ID
+   * @return Providers of the current snapshot
+   */
+  public List<Provider> getProviders() {
+    return snapshot.ordered();
+  }
+
+  /**
+   * Find an active service provider
+   * Falls back to the database if the provider is not in the snapshot
+   * @param providerId User ID
+   * @return Optional containing the provider if the user is an active service provider
+   */
+  public Optional<Provider> findProvider(Long providerId) {
+    Provider provider = snapshot.byId().get(providerId);
+    if (provider != null) {
+      return Optional.of(provider);
+    }
+    return userRepository.findById(providerId)
+      .filter(user -> user.isServiceProvider() && Boolean.TRUE.equals(user.getActive()))
+      .map(Provider::of)
+      .map(found -> {
+        put(found);
+        return found;
+      });
+  }
+
+  /**
+   * Get the version of the current snapshot; it changes whenever the directory changes
+   * @return Snapshot version
+   */
+  public long getVersion() {
+    return snapshot.version();
+  }
+
+  synchronized void put(Provider provider) {
+    Snapshot current = snapshot;
+    if (provider.equals(current.byId().get(provider.id()))) {
+      return;
+    }
+    TreeMap<Long, Provider> providers = current.copy();
+    providers.put(provider.id(), provider);
+    snapshot = Snapshot.of(current.version() + 1, providers);
+  }
+
+  synchronized void putAll(List<Provider> added) {
+    if (added.isEmpty()) {
+      return;
+    }
+    Snapshot current = snapshot;
+    TreeMap<Long, Provider> providers = current.copy();
+    added.forEach(provider -> providers.put(provider.id(), provider));
+    snapshot = Snapshot.of(current.version() + 1, providers);
+  }
+
+  synchronized void remove(Long providerId) {
+    Snapshot current = snapshot;
+    if (!current.byId().containsKey(providerId)) {
+      return;
+    }
+    TreeMap<Long, Provider> providers = current.copy();
+    providers.remove(providerId);
+    snapshot = Snapshot.of(current.version() + 1, providers);
+  }
+}
@@ -0,0 +1,294 @@
+package com.appointment.directory;
+
+import com.appointment.dto.UserResponse;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.event.UsersCreatedEvent;
+import com.appointment.model.User;
+import com.appointment.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index over user names and emails for type-ahead lookups
+ * Keys of active users (the full name, every further word of the name and the email, lower-cased)
+ * are kept in sorted arrays, one over all roles and one per role. A lookup binary-searches the first
+ * key with the prefix in the array of the requested role and scans forward, so it costs
+ * O(log n + limit) without touching the database.
+ *
+ * The arrays are immutable snapshots: readers never lock, writers merge the change into a new
+ * snapshot and swap it in. Kept up to date from user change events.
+ */
+@Component
+@Slf4j
+public class UserAutocompleteIndex implements SmartInitializingSingleton {
+
+  private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::text).thenComparing(Key::userId);
+
+  private final UserRepository userRepository;
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  public UserAutocompleteIndex(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  /**
+   * User as kept in the index
+   */
+  private record Entry(Long id, String name, String email, User.Role role, boolean active, LocalDateTime createdAt) {
+
+    static Entry of(User user) {
+      return new Entry(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+        Boolean.TRUE.equals(user.getActive()), user.getCreatedAt());
+    }
+
+    static Entry of(UserChangedEvent event) {
+      return new Entry(event.getUserId(), event.getName(), event.getEmail(), event.getRole(),
+        Boolean.TRUE.equals(event.getActive()), event.getCreatedAt());
+    }
+
+    List<Key> keys() {
+      Set<String> texts = new LinkedHashSet<>();
+      String normalizedName = normalize(name);
+      if (!normalizedName.isEmpty()) {
+        texts.add(normalizedName);
+        String[] words = normalizedName.split("\\s+");
+        for (int i = 1; i < words.length; i++) {
+          texts.add(words[i]);
+        }
+      }
+      if (email != null) {
+        texts.add(normalize(email));
+      }
+      return texts.stream().map(text -> new Key(text, id)).toList();
+    }
+
+    UserResponse toResponse() {
+      UserResponse response = new UserResponse();
+      response.setId(id);
+      response.setName(name);
+      response.setEmail(email);
+      response.setRole(role);
+      response.setActive(active);
+      response.setCreatedAt(createdAt);
+      return response;
+    }
+  }
+
+  private record Key(String text, Long userId) {
+  }
+
+  /**
+   * Keys sorted by text with the user ID of each key, as parallel arrays
+   */
+  private record KeyArray(String[] texts, long[] userIds) {
+
+    static final KeyArray EMPTY = new KeyArray(new String[0], new long[0]);
+
+    static KeyArray of(List<Key> sortedKeys) {
+      String[] texts = new String[sortedKeys.size()];
+      long[] userIds = new long[sortedKeys.size()];
+      for (int i = 0; i < texts.length; i++) {
+        texts[i] = sortedKeys.get(i).text();
+        userIds[i] = sortedKeys.get(i).userId();
+      }
+      return new KeyArray(texts, userIds);
+    }
+
+    int lowerBound(String prefix) {
+      int low = 0;
+      int high = texts.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (texts[mid].compareTo(prefix) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Drop the keys of the changed users and merge in their new keys (linear in the number of keys)
+     */
+    KeyArray merge(Set<Long> changedUserIds, List<Key> sortedAdded) {
+      List<Key> merged = new ArrayList<>(texts.length + sortedAdded.size());
+      int next = 0;
+      for (int i = 0; i < texts.length; i++) {
+        if (changedUserIds.contains(userIds[i])) {
+          continue;
+        }
+        Key existing = new Key(texts[i], userIds[i]);
+        while (next < sortedAdded.size() && KEY_ORDER.compare(sortedAdded.get(next), existing) < 0) {
+          merged.add(sortedAdded.get(next++));
+        }
+        merged.add(existing);
+      }
+      while (next < sortedAdded.size()) {
+        merged.add(sortedAdded.get(next++));
+      }
+      return KeyArray.of(merged);
+    }
+  }
+
+  /**
+   * Immutable state of the index: keys of active users (all roles, and per role) and all users
+   * Inactive users have no keys, and a role filter picks its own array, so a lookup stops after
+   * limit matching users instead of skipping users of other roles.
+   */
+  private record Snapshot(KeyArray all, Map<User.Role, KeyArray> byRole, Map<Long, Entry> users) {
+
+    static final Snapshot EMPTY = new Snapshot(KeyArray.EMPTY, Map.of(), Map.of());
+
+    KeyArray keys(User.Role role) {
+      return role == null ? all : byRole.getOrDefault(role, KeyArray.EMPTY);
+    }
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Replace the index with all users from the database
+   */
+  public synchronized void rebuild() {
+    Map<Long, Entry> users = new HashMap<>();
+    List<Key> keys = new ArrayList<>();
+    Map<User.Role, List<Key>> keysByRole = new EnumMap<>(User.Role.class);
+    for (User user : userRepository.findAll()) {
+      Entry entry = Entry.of(user);
+      users.put(entry.id(), entry);
+      if (entry.active()) {
+        keys.addAll(entry.keys());
+        keysByRole.computeIfAbsent(entry.role(), role -> new ArrayList<>()).addAll(entry.keys());
+      }
+    }
+    keys.sort(KEY_ORDER);
+    Map<User.Role, KeyArray> byRole = new EnumMap<>(User.Role.class);
+    keysByRole.forEach((role, roleKeys) -> {
+      roleKeys.sort(KEY_ORDER);
+      byRole.put(role, KeyArray.of(roleKeys));
+    });
+    snapshot = new Snapshot(KeyArray.of(keys), byRole, Map.copyOf(users));
+    log.info("User autocomplete index loaded with {} users", users.size());
+  }
+
+  /**
+   * Apply a committed user change to the index
+   * @param event User change
+   */
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    if (event.getType() == UserChangedEvent.Type.DELETED) {
+      replaceAll(Set.of(event.getUserId()), List.of());
+    } else {
+      replaceAll(Set.of(event.getUserId()), List.of(Entry.of(event)));
+    }
+  }
+
+  /**
+   * Apply a committed bulk insert to the index with a single merge
+   * @param event New users
+   */
+  @TransactionalEventListener
+  public void onUsersCreated(UsersCreatedEvent event) {
+    List<Entry> entries = event.getUsers().stream().map(Entry::of).toList();
+    replaceAll(entries.stream().map(Entry::id).collect(Collectors.toSet()), entries);
+  }
+
+  /**
+   * Find active users whose name, any word of the name, or email starts with the prefix
+   * @param prefix Prefix (case-insensitive, surrounding whitespace ignored)
+   * @param limit Maximum number of users
+   * @param role Only users with this role, or null for all roles
+   * @return Matching users, ordered by the matching key
+   */
+  public List<UserResponse> complete(String prefix, int limit, User.Role role) {
+    String normalized = normalize(prefix).strip();
+    if (normalized.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    Snapshot current = snapshot;
+    KeyArray keys = current.keys(role);
+    Set<Long> seen = new LinkedHashSet<>();
+    List<UserResponse> results = new ArrayList<>();
+    for (int i = keys.lowerBound(normalized);
+         i < keys.texts().length && keys.texts()[i].startsWith(normalized) && results.size() < limit;
+         i++) {
+      // A user appears once per matching key (e.g. name and email), only the first one counts
+      if (seen.add(keys.userIds()[i])) {
+        results.add(current.users().get(keys.userIds()[i]).toResponse());
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Number of indexed users
+   */
+  public int size() {
+    return snapshot.users().size();
+  }
+
+  /**
+   * Replace the changed users with their new entries (none for deleted users) in a new snapshot
+   * One merge per affected key array, however many users change; only the arrays of their old and
+   * new roles are rebuilt
+   */
+  private synchronized void replaceAll(Set<Long> changedUserIds, List<Entry> entries) {
+    Snapshot current = snapshot;
+    List<Key> added = new ArrayList<>();
+    Map<User.Role, List<Key>> addedByRole = new EnumMap<>(User.Role.class);
+    Set<User.Role> roles = EnumSet.noneOf(User.Role.class);
+    for (Long userId : changedUserIds) {
+      Entry previous = current.users().get(userId);
+      if (previous != null) {
+        roles.add(previous.role());
+      }
+    }
+    for (Entry entry : entries) {
+      roles.add(entry.role());
+      if (entry.active()) {
+        added.addAll(entry.keys());
+        addedByRole.computeIfAbsent(entry.role(), role -> new ArrayList<>()).addAll(entry.keys());
+      }
+    }
+    added.sort(KEY_ORDER);
+
+    Map<User.Role, KeyArray> byRole = new EnumMap<>(User.Role.class);
+    byRole.putAll(current.byRole());
+    for (User.Role role : roles) {
+      List<Key> roleAdded = addedByRole.getOrDefault(role, new ArrayList<>());
+      roleAdded.sort(KEY_ORDER);
+      byRole.put(role, current.keys(role).merge(changedUserIds, roleAdded));
+    }
+
+    Map<Long, Entry> users = new HashMap<>(current.users());
+    changedUserIds.forEach(users::remove);
+    entries.forEach(entry -> users.put(entry.id(), entry));
+    snapshot = new Snapshot(current.all().merge(changedUserIds, added), byRole, Map.copyOf(users));
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+}
@@ -4,6 +4,7 @@ import com.appointment.model.Appointment;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,16 +20,24 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class AppointmentRequest {
 
-  @NotNull(message = "Customer ID is required")
+  /**
+   * Validation group for items of a batch request
+   * Checks every constraint except @Future: a past item is reported as a PAST_DATE result of its own
+   * instead of failing the whole batch
+   */
+  public interface BatchItem {
+  }
+
+  @NotNull(message = "Customer ID is required", groups = {Default.class, BatchItem.class})
   private Long customerId;
 
-  @NotNull(message = "Service provider ID is required")
+  @NotNull(message = "Service provider ID is required", groups = {Default.class, BatchItem.class})
   private Long serviceProviderId;
 
-  @NotNull(message = "Service type is required")
+  @NotNull(message = "Service type is required", groups = {Default.class, BatchItem.class})
   private Appointment.ServiceType serviceType;
 
-  @NotNull(message = "Appointment date and time is required")
+  @NotNull(message = "Appointment date and time is required", groups = {Default.class, BatchItem.class})
   @Future(message = "Appointment must be scheduled for a future date and time")
   @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
   private LocalDateTime appointmentDateTime;
@@ -51,6 +51,30 @@ public class AppointmentResponse {
   @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
   private LocalDateTime updatedAt;
 
+  /**
+   * Constructor used by JPQL constructor expressions (see AppointmentRepository.RESPONSE_PROJECTION)
+   * Reads only the columns the response needs, so no entity is hydrated or tracked for dirty checking
+   */
+  public AppointmentResponse(Long id,
+                             Long customerId, String customerName, String customerEmail,
+                             Long serviceProviderId, String serviceProviderName, String serviceProviderEmail,
+                             Appointment.ServiceType serviceType, LocalDateTime appointmentDateTime, String notes,
+                             Appointment.Status status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    this.id = id;
+    this.customerId = customerId;
+    this.customerName = customerName;
+    this.customerEmail = customerEmail;
+    this.serviceProviderId = serviceProviderId;
+    this.serviceProviderName = serviceProviderName;
+    this.serviceProviderEmail = serviceProviderEmail;
+    setServiceType(serviceType);
+    this.appointmentDateTime = appointmentDateTime;
+    this.notes = notes;
+    setStatus(status);
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+
   /**
    * Helper method to set display names from enums
    * @param serviceType Service type enum
@@ -0,0 +1,29 @@
+package com.appointment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.groups.ConvertGroup;
+import jakarta.validation.groups.Default;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch booking requests
+ * Used by clinics importing a day's worth of appointments at once
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAppointmentRequest {
+
+  public static final int MAX_APPOINTMENTS = 500;
+
+  @NotEmpty(message = "At least one appointment is required")
+  @Size(max = MAX_APPOINTMENTS, message = "At most " + MAX_APPOINTMENTS + " appointments can be booked at once")
+  // Items are validated without @Future, so past items come back as per-item PAST_DATE results
+  private List<@Valid @ConvertGroup(from = Default.class, to = AppointmentRequest.BatchItem.class) AppointmentRequest> appointments;
+}
@@ -0,0 +1,42 @@
+package com.appointment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one item of a batch booking
+ * Results are returned in request order; index is the position of the item in the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchBookingResult {
+
+  private int index;
+  private Status status;
+  private String message;
+  private AppointmentResponse appointment;
+
+  public static BatchBookingResult created(int index, AppointmentResponse appointment) {
+    return new BatchBookingResult(index, Status.CREATED, null, appointment);
+  }
+
+  public static BatchBookingResult rejected(int index, Status status, String message) {
+    return new BatchBookingResult(index, status, message, null);
+  }
+
+  /**
+   * Enum for per-item outcomes
+   */
+  public enum Status {
+    CREATED,
+    CUSTOMER_NOT_FOUND,
+    PROVIDER_NOT_FOUND,
+    NOT_A_PROVIDER,
+    PAST_DATE,
+    CONFLICT
+  }
+}
@@ -0,0 +1,26 @@
+package com.appointment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk user onboarding requests
+ * The users are inserted in one transaction as batched statements
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRequest {
+
+  public static final int MAX_USERS = 500;
+
+  @NotEmpty(message = "At least one user is required")
+  @Size(max = MAX_USERS, message = "At most " + MAX_USERS + " users can be created at once")
+  private List<@Valid UserRequest> users;
+}
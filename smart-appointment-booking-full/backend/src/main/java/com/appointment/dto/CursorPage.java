@@ -0,0 +1,36 @@
+package com.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated listing
+ *
+ * @param <T> Type of the page items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  /**
+   * Items of this page, in listing order
+   */
+  private List<T> items;
+
+  /**
+   * Opaque token to request the next page (null when this is the last page)
+   */
+  private String nextCursor;
+
+  /**
+   * Check if there are more items after this page
+   * @return true if a next page exists
+   */
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,50 @@
+package com.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Free appointment slots of a service provider over a range of days
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderAvailability {
+
+  private Long providerId;
+
+  /**
+   * Distance between two slot start times, in minutes
+   */
+  private long slotMinutes;
+
+  /**
+   * One entry per requested day, in date order (days off have no free slots)
+   */
+  private List<DayAvailability> days;
+
+  /**
+   * First free slot from the start of the range, looking up to the maximum range length ahead
+   * (null if there is none); lets clients jump past fully booked ranges
+   */
+  private LocalDateTime nextFreeSlot;
+
+  /**
+   * Free slot start times of one day
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class DayAvailability {
+
+    private LocalDate date;
+
+    private List<LocalTime> freeSlots;
+  }
+}
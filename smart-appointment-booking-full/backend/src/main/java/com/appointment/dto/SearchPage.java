@@ -0,0 +1,33 @@
+package com.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results
+ *
+ * @param <T> Type of the page items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage<T> {
+
+  /**
+   * Items of this page, best match first
+   */
+  private List<T> items;
+
+  /**
+   * Number of matches found (at most the result cap)
+   */
+  private int totalMatches;
+
+  /**
+   * True if the search stopped at the result cap, so more matches may exist
+   */
+  private boolean capped;
+}
@@ -0,0 +1,63 @@
+package com.appointment.event;
+
+import com.appointment.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by the appointment service whenever an appointment is written
+ * Listeners that keep derived state (indexes, caches, feeds) should react after commit
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentChangedEvent {
+
+  /**
+   * Kind of change
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+  }
+
+  private Type type;
+
+  private Long appointmentId;
+
+  private Long customerId;
+
+  private Long serviceProviderId;
+
+  private LocalDateTime appointmentDateTime;
+
+  private Appointment.Status status;
+
+  /**
+   * Create an event describing the current state of an appointment
+   * @param type Kind of change
+   * @param appointment Appointment after the change (before deletion for DELETED)
+   * @return AppointmentChangedEvent
+   */
+  public static AppointmentChangedEvent of(Type type, Appointment appointment) {
+    return new AppointmentChangedEvent(
+      type,
+      appointment.getId(),
+      appointment.getCustomer().getId(),
+      appointment.getServiceProvider().getId(),
+      appointment.getAppointmentDateTime(),
+      appointment.getStatus()
+    );
+  }
+
+  /**
+   * Check if the appointment still occupies its provider's time slot after this change
+   * @return true if the appointment exists and is not cancelled
+   */
+  public boolean occupiesSlot() {
+    return type != Type.DELETED && status != Appointment.Status.CANCELLED;
+  }
+}
@@ -0,0 +1,15 @@
+package com.appointment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published by the cleanup job after deleting a chunk of expired appointments in bulk
+ * The rows are not published one by one; listeners that only need to know the table changed react after commit
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentsPurgedEvent {
+
+  private int count;
+}
@@ -0,0 +1,68 @@
+package com.appointment.event;
+
+import com.appointment.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by the user service whenever a user is written
+ * Listeners that keep derived state (directories, caches) should react after commit
+ */
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+
+  /**
+   * Kind of change
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private Type type;
+
+  private Long userId;
+
+  private String name;
+
+  private String email;
+
+  private String phone;
+
+  private User.Role role;
+
+  private Boolean active;
+
+  private LocalDateTime createdAt;
+
+  /**
+   * Create an event describing the current state of a user
+   * @param type Kind of change
+   * @param user User after the change (before deletion for DELETED)
+   * @return UserChangedEvent
+   */
+  public static UserChangedEvent of(Type type, User user) {
+    return new UserChangedEvent(
+      type,
+      user.getId(),
+      user.getName(),
+      user.getEmail(),
+      user.getPhone(),
+      user.getRole(),
+      user.getActive(),
+      user.getCreatedAt()
+    );
+  }
+
+  /**
+   * Check if the user is a bookable service provider after this change
+   * @return true if the user exists, is a service provider and is active
+   */
+  public boolean isActiveProvider() {
+    return type != Type.DELETED && role == User.Role.SERVICE_PROVIDER && Boolean.TRUE.equals(active);
+  }
+}
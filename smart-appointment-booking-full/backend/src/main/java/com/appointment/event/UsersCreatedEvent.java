@@ -0,0 +1,30 @@
+package com.appointment.event;
+
+import com.appointment.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Application event published by the user service after a bulk insert
+ * Carries one CREATED change per user, so listeners can apply the whole batch in a single update
+ * instead of one update per user
+ */
+@Data
+@AllArgsConstructor
+public class UsersCreatedEvent {
+
+  private List<UserChangedEvent> users;
+
+  /**
+   * Create an event describing a batch of new users
+   * @param users Users as saved
+   * @return UsersCreatedEvent
+   */
+  public static UsersCreatedEvent of(List<User> users) {
+    return new UsersCreatedEvent(users.stream()
+      .map(user -> UserChangedEvent.of(UserChangedEvent.Type.CREATED, user))
+      .toList());
+  }
+}
@@ -2,8 +2,11 @@ package com.appointment.exception;
 
 import com.appointment.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -162,6 +165,29 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
   }
 
+  /**
+   * Handle database overload (503 Service Unavailable)
+   * Thrown when no database connection could be obtained in time, e.g. the bulkhead is full
+   */
+  @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<ApiResponse<Object>> handleDatabaseUnavailable(
+    Exception ex) {
+
+    log.warn("Database unavailable: {}", ex.getMessage());
+
+    ApiResponse<Object> response = new ApiResponse<>();
+    response.setSuccess(false);
+    response.setMessage("The service is busy. Please try again shortly.");
+    response.setData(null);
+    response.setTimestamp(LocalDateTime.now());
+    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(response);
+  }
+
   /**
    * Handle all other unhandled exceptions (500 Internal Server Error)
    * Catch-all for unexpected errors
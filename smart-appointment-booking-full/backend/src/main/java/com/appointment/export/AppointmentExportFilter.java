@@ -0,0 +1,21 @@
+package com.appointment.export;
+
+import com.appointment.model.Appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the appointment export; null fields do not filter
+ * @param start Earliest appointment date/time (inclusive)
+ * @param end Latest appointment date/time (inclusive)
+ * @param status Appointment status
+ * @param providerId Service provider ID
+ */
+public record AppointmentExportFilter(LocalDateTime start, LocalDateTime end, Appointment.Status status, Long providerId) {
+
+  public AppointmentExportFilter {
+    if (start != null && end != null && start.isAfter(end)) {
+      throw new IllegalArgumentException("Export start must not be after end");
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.appointment.export;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.repository.AppointmentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams appointments to an output stream as NDJSON or CSV
+ * Rows go from the database cursor to the client one at a time; neither the result list nor
+ * the serialized body is ever held in memory, so heap use is constant however many rows are exported.
+ */
+@Component
+@Slf4j
+public class AppointmentExporter {
+
+  static final String[] CSV_COLUMNS = {
+    "id", "customerId", "customerName", "customerEmail", "serviceProviderId", "serviceProviderName",
+    "serviceProviderEmail", "serviceType", "appointmentDateTime", "status", "notes", "createdAt", "updatedAt"
+  };
+
+  private final AppointmentRepository appointmentRepository;
+  private final ObjectWriter jsonWriter;
+  private final int fetchSize;
+
+  public AppointmentExporter(AppointmentRepository appointmentRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:500}") int fetchSize) {
+    this.appointmentRepository = appointmentRepository;
+    this.jsonWriter = objectMapper.writerFor(AppointmentResponse.class);
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Write all appointments matching the filter, ordered by date/time
+   * The database cursor stays open (and holds a connection) until the last row is written.
+   * @param filter Filters
+   * @param format Output format
+   * @param out Target stream, flushed but not closed
+   * @return Number of exported appointments
+   * @throws IOException if writing to the client fails
+   */
+  @Timed("service.method")
+  @Transactional(readOnly = true)
+  public long export(AppointmentExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+    log.info("Exporting appointments as {} with filter {}", format, filter);
+    long rows;
+    try (Stream<AppointmentResponse> appointments = appointmentRepository.streamResponses(filter, fetchSize)) {
+      rows = format == ExportFormat.CSV
+        ? writeCsv(appointments.iterator(), out)
+        : writeNdjson(appointments.iterator(), out);
+    }
+    log.info("Exported {} appointments", rows);
+    return rows;
+  }
+
+  private long writeNdjson(Iterator<AppointmentResponse> appointments, OutputStream out) throws IOException {
+    long rows = 0;
+    try (JsonGenerator generator = jsonWriter.getFactory().createGenerator(out)) {
+      // The generator must not close the response stream
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      while (appointments.hasNext()) {
+        jsonWriter.writeValue(generator, appointments.next());
+        generator.writeRaw('\n');
+        rows++;
+      }
+    }
+    return rows;
+  }
+
+  private long writeCsv(Iterator<AppointmentResponse> appointments, OutputStream out) throws IOException {
+    long rows = 0;
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", CSV_COLUMNS));
+    writer.write("\r\n");
+    while (appointments.hasNext()) {
+      AppointmentResponse a = appointments.next();
+      writeCsvRow(writer, a.getId(), a.getCustomerId(), a.getCustomerName(), a.getCustomerEmail(),
+        a.getServiceProviderId(), a.getServiceProviderName(), a.getServiceProviderEmail(), a.getServiceType(),
+        a.getAppointmentDateTime(), a.getStatus(), a.getNotes(), a.getCreatedAt(), a.getUpdatedAt());
+      rows++;
+    }
+    writer.flush();
+    return rows;
+  }
+
+  private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(csvField(values[i]));
+    }
+    writer.write("\r\n");
+  }
+
+  /**
+   * Format a CSV field (RFC 4180)
+   * Text starting with a formula character is prefixed with an apostrophe so spreadsheets do not evaluate it.
+   */
+  static String csvField(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value instanceof LocalDateTime dateTime
+      ? dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+      : value.toString();
+    if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+      text = "'" + text;
+    }
+    if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+      return '"' + text.replace("\"", "\"\"") + '"';
+    }
+    return text;
+  }
+}
@@ -0,0 +1,41 @@
+package com.appointment.export;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the appointment export
+ */
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  ExportFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  /**
+   * Parse the format request parameter, ignoring case
+   * @param value Parameter value (ndjson or csv)
+   * @return Export format
+   * @throws IllegalArgumentException if the format is unknown
+   */
+  public static ExportFormat fromParameter(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+    }
+  }
+}
@@ -0,0 +1,276 @@
+package com.appointment.feed;
+
+import com.appointment.event.AppointmentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed appointment changes to Server-Sent Events subscribers
+ * Replaces dashboard polling: clients keep one stream open and refetch only what changed.
+ *
+ * Every subscriber has a bounded queue drained by its own virtual thread, so publishing never waits on
+ * a client's network. A subscriber whose queue overflows is evicted (its stream is closed); the client
+ * reconnects with Last-Event-ID and catches up from the history of recent events. When the requested
+ * event is no longer in the history (or was issued before a restart) the subscriber gets a "reset"
+ * event and should reload its data.
+ */
+@Component
+@Slf4j
+public class AppointmentEventHub {
+
+  /**
+   * SSE event name of an appointment change; the data is the AppointmentChangedEvent as JSON
+   */
+  public static final String CHANGE_EVENT = "appointment";
+
+  /**
+   * SSE event name telling the client that changes were missed and its data must be reloaded
+   */
+  public static final String RESET_EVENT = "reset";
+
+  // Reconnect delay suggested to clients; the first write also commits the response headers
+  private static final long RECONNECT_MILLIS = 3000;
+
+  private final int historySize;
+  private final int bufferSize;
+  private final int maxSubscribers;
+  private final long timeoutMillis;
+  private final long heartbeatMillis;
+  // Event IDs are "<stream>-<sequence>"; the stream part changes with every start, so IDs from
+  // before a restart are recognized and answered with a reset
+  private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong subscriberIds = new AtomicLong();
+  private final Counter evictions;
+
+  private final Deque<FeedEvent> history = new ArrayDeque<>();
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private long sequence;
+
+  public AppointmentEventHub(MeterRegistry meterRegistry,
+                             @Value("${events.history-size:1000}") int historySize,
+                             @Value("${events.buffer-size:256}") int bufferSize,
+                             @Value("${events.max-subscribers:2000}") int maxSubscribers,
+                             @Value("${events.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${events.heartbeat-ms:15000}") long heartbeatMillis) {
+    this.historySize = historySize;
+    this.bufferSize = bufferSize;
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMillis = timeoutMillis;
+    this.heartbeatMillis = heartbeatMillis;
+    Gauge.builder("appointment.events.subscribers", subscriptions, Set::size)
+      .description("Open appointment event streams")
+      .register(meterRegistry);
+    this.evictions = Counter.builder("appointment.events.evicted")
+      .description("Event streams closed because the client did not keep up")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Open an event stream
+   * @param providerId Only events of this service provider (null for all)
+   * @param customerId Only events of this customer (null for all)
+   * @param lastEventId ID of the last event the client received, to resume after it (may be null)
+   * @return Emitter to return from the controller
+   */
+  public SseEmitter subscribe(Long providerId, Long customerId, String lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    subscribe(emitter, providerId, customerId, lastEventId);
+    return emitter;
+  }
+
+  /**
+   * Attach an emitter as subscriber and start delivering events to it
+   * @param emitter Emitter of the subscriber
+   * @param providerId Only events of this service provider (null for all)
+   * @param customerId Only events of this customer (null for all)
+   * @param lastEventId ID of the last event the client received, to resume after it (may be null)
+   */
+  public void subscribe(SseEmitter emitter, Long providerId, Long customerId, String lastEventId) {
+    Subscription subscription = new Subscription(subscriberIds.incrementAndGet(), emitter, providerId, customerId);
+    synchronized (this) {
+      if (subscriptions.size() >= maxSubscribers) {
+        throw new IllegalStateException("Too many open event streams, please retry later");
+      }
+      replay(subscription, lastEventId);
+      subscriptions.add(subscription);
+    }
+    emitter.onCompletion(subscription::close);
+    emitter.onTimeout(subscription::close);
+    emitter.onError(error -> subscription.close());
+    subscription.writer = Thread.ofVirtual()
+      .name("appointment-events-" + subscription.id)
+      .start(() -> deliver(subscription));
+  }
+
+  /**
+   * Publish an appointment change to matching subscribers once it is committed
+   * @param event Appointment change
+   */
+  @TransactionalEventListener
+  public synchronized void onAppointmentChanged(AppointmentChangedEvent event) {
+    FeedEvent feedEvent = new FeedEvent(++sequence, CHANGE_EVENT, event);
+    history.addLast(feedEvent);
+    if (history.size() > historySize) {
+      history.removeFirst();
+    }
+    for (Subscription subscription : subscriptions) {
+      if (subscription.accepts(event) && !subscription.queue.offer(feedEvent)) {
+        evict(subscription);
+      }
+    }
+  }
+
+  /**
+   * End all streams when the application shuts down, so graceful shutdown does not wait for them
+   * Clients reconnect (possibly to another instance, which answers with a reset)
+   */
+  @EventListener(ContextClosedEvent.class)
+  public void closeAllStreams() {
+    for (Subscription subscription : subscriptions) {
+      subscription.close();
+      subscription.emitter.complete();
+    }
+  }
+
+  /**
+   * Get the number of open event streams
+   * @return Number of subscribers
+   */
+  public int getSubscriberCount() {
+    return subscriptions.size();
+  }
+
+  // Helper method to queue the events a resuming subscriber missed, or a reset if they are gone
+  private void replay(Subscription subscription, String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return;
+    }
+    long lastSequence = parseSequence(lastEventId);
+    long oldestRetained = history.isEmpty() ? sequence + 1 : history.getFirst().sequence();
+    if (lastSequence < 0 || lastSequence > sequence || lastSequence < oldestRetained - 1) {
+      subscription.queue.offer(new FeedEvent(sequence, RESET_EVENT, Map.of("reason", "events missed")));
+      return;
+    }
+    for (FeedEvent missed : history) {
+      if (missed.sequence() > lastSequence && subscription.accepts((AppointmentChangedEvent) missed.data())
+        && !subscription.queue.offer(missed)) {
+        // More missed events than the buffer holds: reloading is cheaper than replaying
+        subscription.queue.clear();
+        subscription.queue.offer(new FeedEvent(sequence, RESET_EVENT, Map.of("reason", "events missed")));
+        return;
+      }
+    }
+  }
+
+  // Helper method to read the sequence from an event ID of this stream (-1 for foreign or malformed IDs)
+  private long parseSequence(String eventId) {
+    int separator = eventId.lastIndexOf('-');
+    if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(eventId.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  // Helper method to drop a subscriber that fell behind; its writer closes the stream
+  private void evict(Subscription subscription) {
+    subscription.queue.clear();
+    subscription.close();
+    evictions.increment();
+    log.warn("Evicted slow event subscriber {} (buffer of {} events full)", subscription.id, bufferSize);
+  }
+
+  // Writer loop of one subscriber, runs on its own virtual thread until the stream ends
+  private void deliver(Subscription subscription) {
+    try {
+      subscription.emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+      while (!subscription.closed) {
+        FeedEvent next = subscription.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+        if (subscription.closed) {
+          break;
+        }
+        if (next == null) {
+          // Keeps proxies from closing an idle stream and detects clients that went away
+          subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else {
+          subscription.emitter.send(SseEmitter.event()
+            .id(streamId + "-" + next.sequence())
+            .name(next.name())
+            .data(next.data(), MediaType.APPLICATION_JSON));
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Event subscriber {} disconnected: {}", subscription.id, e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      subscription.close();
+      subscription.emitter.complete();
+    }
+  }
+
+  /**
+   * Event as kept in the history and in subscriber queues
+   */
+  private record FeedEvent(long sequence, String name, Object data) {
+  }
+
+  /**
+   * One open event stream with its filter and pending events
+   */
+  private final class Subscription {
+
+    private final long id;
+    private final SseEmitter emitter;
+    private final Long providerId;
+    private final Long customerId;
+    private final BlockingQueue<FeedEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+    private volatile boolean closed;
+    private volatile Thread writer;
+
+    Subscription(long id, SseEmitter emitter, Long providerId, Long customerId) {
+      this.id = id;
+      this.emitter = emitter;
+      this.providerId = providerId;
+      this.customerId = customerId;
+    }
+
+    boolean accepts(AppointmentChangedEvent event) {
+      return (providerId == null || Objects.equals(providerId, event.getServiceProviderId()))
+        && (customerId == null || Objects.equals(customerId, event.getCustomerId()));
+    }
+
+    void close() {
+      closed = true;
+      subscriptions.remove(this);
+      Thread thread = writer;
+      if (thread != null && thread != Thread.currentThread()) {
+        thread.interrupt();
+      }
+    }
+  }
+}
@@ -5,12 +5,15 @@ import com.appointment.dto.UserResponse;
 import com.appointment.service.AppointmentService;
 import com.appointment.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -39,6 +42,22 @@ public class AppointmentGraphQLController {
         return userService.getUserById(id);
     }
 
+    /**
+     * Resolve Appointment.customer through the per-request user DataLoader (see UserDataLoaderRegistrar)
+     */
+    @SchemaMapping(typeName = "Appointment")
+    public CompletableFuture<UserResponse> customer(AppointmentResponse appointment, DataLoader<Long, UserResponse> userLoader) {
+        return userLoader.load(appointment.getCustomerId());
+    }
+
+    /**
+     * Resolve Appointment.serviceProvider through the same DataLoader, so customers and providers share one batch
+     */
+    @SchemaMapping(typeName = "Appointment")
+    public CompletableFuture<UserResponse> serviceProvider(AppointmentResponse appointment, DataLoader<Long, UserResponse> userLoader) {
+        return userLoader.load(appointment.getServiceProviderId());
+    }
+
     @MutationMapping
     public AppointmentResponse createAppointment(@Argument Long customerId, @Argument Long providerId, @Argument String serviceType, @Argument String appointmentDateTime, @Argument String notes) {
         // Convert serviceType string to enum
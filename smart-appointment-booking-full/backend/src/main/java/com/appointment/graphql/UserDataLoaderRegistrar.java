@@ -0,0 +1,22 @@
+package com.appointment.graphql;
+
+import com.appointment.dto.UserResponse;
+import com.appointment.service.UserService;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registers the per-request DataLoader resolving users by ID
+ * All user lookups made while executing one GraphQL request (customer and service provider of every
+ * appointment) are collected and resolved with a single UserRepository.findAllById call.
+ */
+@Component
+public class UserDataLoaderRegistrar {
+
+    public UserDataLoaderRegistrar(BatchLoaderRegistry registry, UserService userService) {
+        registry.forTypePair(Long.class, UserResponse.class)
+                .registerMappedBatchLoader((userIds, environment) ->
+                        Mono.fromCallable(() -> userService.getUsersByIds(userIds)));
+    }
+}
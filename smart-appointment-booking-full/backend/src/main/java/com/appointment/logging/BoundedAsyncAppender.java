@@ -0,0 +1,219 @@
+package com.appointment.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender with a bounded queue and an explicit overflow policy
+ * Logging threads only enqueue the event; a single writer thread hands events to the attached
+ * appenders (encoding, disk I/O) in batches. The queue never grows beyond queueSize:
+ * <ul>
+ *   <li>INFO and below are discarded once fewer than discardingThreshold slots are free</li>
+ *   <li>WARN and ERROR wait up to maxBlockMillis for a free slot and are dropped after that</li>
+ * </ul>
+ * Every dropped event is counted, see {@link #getDiscardedCount()} and {@link #getOverflowCount()}.
+ * Unlike logback's AsyncAppender, the logging thread never blocks indefinitely on a slow disk.
+ */
+public class BoundedAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+  implements AppenderAttachable<ILoggingEvent> {
+
+  private static final int MAX_BATCH = 256;
+
+  private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+  private final LongAdder discarded = new LongAdder();
+  private final LongAdder overflowed = new LongAdder();
+
+  private int queueSize = 8192;
+  private int discardingThreshold = -1;
+  private long maxBlockMillis = 20;
+  private long maxFlushMillis = 1000;
+  private boolean includeCallerData = false;
+
+  private ArrayBlockingQueue<ILoggingEvent> queue;
+  private Thread writer;
+
+  @Override
+  public void start() {
+    if (isStarted()) {
+      return;
+    }
+    if (queueSize < 1) {
+      addError("Invalid queue size " + queueSize);
+      return;
+    }
+    if (!appenders.iteratorForAppenders().hasNext()) {
+      addError("No appender attached to " + getName());
+      return;
+    }
+    if (discardingThreshold < 0) {
+      discardingThreshold = queueSize / 5;
+    }
+    queue = new ArrayBlockingQueue<>(queueSize);
+    writer = new Thread(this::writeLoop, "log-writer-" + getName());
+    writer.setDaemon(true);
+    super.start();
+    writer.start();
+  }
+
+  @Override
+  public void stop() {
+    if (!isStarted()) {
+      return;
+    }
+    super.stop();
+    // The writer flushes the remaining events once interrupted
+    writer.interrupt();
+    try {
+      writer.join(maxFlushMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writer.isAlive()) {
+      addWarn("Log writer did not finish within " + maxFlushMillis + " ms, " + queue.size() + " events lost");
+    }
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+    if (!important && queue.remainingCapacity() < discardingThreshold) {
+      discarded.increment();
+      return;
+    }
+    // Capture thread-bound data (MDC, formatted message) before the event changes threads
+    event.prepareForDeferredProcessing();
+    if (includeCallerData) {
+      event.getCallerData();
+    }
+    if (queue.offer(event)) {
+      return;
+    }
+    if (important && maxBlockMillis > 0) {
+      try {
+        if (queue.offer(event, maxBlockMillis, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    overflowed.increment();
+  }
+
+  private void writeLoop() {
+    List<ILoggingEvent> batch = new ArrayList<>(MAX_BATCH);
+    while (isStarted()) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        break;
+      }
+      queue.drainTo(batch, MAX_BATCH - 1);
+      write(batch);
+    }
+    queue.drainTo(batch);
+    write(batch);
+  }
+
+  private void write(List<ILoggingEvent> batch) {
+    for (ILoggingEvent event : batch) {
+      appenders.appendLoopOnAppenders(event);
+    }
+    batch.clear();
+  }
+
+  /**
+   * Get the number of INFO-and-below events discarded because the queue was nearly full
+   * @return Discarded event count since start
+   */
+  public long getDiscardedCount() {
+    return discarded.sum();
+  }
+
+  /**
+   * Get the number of events dropped because the queue was full
+   * @return Dropped event count since start
+   */
+  public long getOverflowCount() {
+    return overflowed.sum();
+  }
+
+  /**
+   * Get the number of events waiting for the writer thread
+   * @return Queued event count
+   */
+  public int getQueuedCount() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public void setDiscardingThreshold(int discardingThreshold) {
+    this.discardingThreshold = discardingThreshold;
+  }
+
+  public void setMaxBlockMillis(long maxBlockMillis) {
+    this.maxBlockMillis = maxBlockMillis;
+  }
+
+  public void setMaxFlushMillis(long maxFlushMillis) {
+    this.maxFlushMillis = maxFlushMillis;
+  }
+
+  public void setIncludeCallerData(boolean includeCallerData) {
+    this.includeCallerData = includeCallerData;
+  }
+
+  @Override
+  public void addAppender(Appender<ILoggingEvent> appender) {
+    appenders.addAppender(appender);
+  }
+
+  @Override
+  public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+    return appenders.iteratorForAppenders();
+  }
+
+  @Override
+  public Appender<ILoggingEvent> getAppender(String name) {
+    return appenders.getAppender(name);
+  }
+
+  @Override
+  public boolean isAttached(Appender<ILoggingEvent> appender) {
+    return appenders.isAttached(appender);
+  }
+
+  @Override
+  public void detachAndStopAllAppenders() {
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  public boolean detachAppender(Appender<ILoggingEvent> appender) {
+    return appenders.detachAppender(appender);
+  }
+
+  @Override
+  public boolean detachAppender(String name) {
+    return appenders.detachAppender(name);
+  }
+}
@@ -0,0 +1,89 @@
+package com.appointment.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-logger rate limit for routine log events
+ * Every logger may emit up to eventsPerSecond events at or below maxLevel (INFO by default) per second;
+ * further events in that second are dropped. WARN and ERROR always pass. Runs as a turbo filter,
+ * i.e. before the logging event is created, so dropped events cost neither formatting nor a queue slot.
+ *
+ * Configured in logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.appointment.logging.LoggerRateSampler"&gt;
+ *   &lt;eventsPerSecond&gt;100&lt;/eventsPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LoggerRateSampler extends TurboFilter {
+
+  private int eventsPerSecond = 100;
+  private Level maxLevel = Level.INFO;
+
+  private final Map<Logger, Budget> budgets = new ConcurrentHashMap<>();
+  private final LongAdder sampledOut = new LongAdder();
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    // isDebugEnabled() and friends are asked without a message; they must not use up the budget
+    if (format == null && params == null && t == null) {
+      return FilterReply.NEUTRAL;
+    }
+    // Events the logger's level rejects anyway, and events above maxLevel, are left to the normal checks
+    if (level.levelInt > maxLevel.levelInt || level.levelInt < logger.getEffectiveLevel().levelInt) {
+      return FilterReply.NEUTRAL;
+    }
+    Budget budget = budgets.computeIfAbsent(logger, l -> new Budget());
+    if (budget.tryAcquire(System.currentTimeMillis() / 1000, eventsPerSecond)) {
+      return FilterReply.NEUTRAL;
+    }
+    sampledOut.increment();
+    return FilterReply.DENY;
+  }
+
+  /**
+   * Get the number of events dropped because their logger was over budget
+   * @return Dropped event count since start
+   */
+  public long getSampledOutCount() {
+    return sampledOut.sum();
+  }
+
+  public void setEventsPerSecond(int eventsPerSecond) {
+    this.eventsPerSecond = eventsPerSecond;
+  }
+
+  public void setMaxLevel(String maxLevel) {
+    this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+  }
+
+  /**
+   * Events used by one logger in the current one-second window
+   */
+  private static final class Budget {
+
+    private volatile long window;
+    private final AtomicInteger used = new AtomicInteger();
+
+    boolean tryAcquire(long currentWindow, int limit) {
+      if (window != currentWindow) {
+        synchronized (this) {
+          if (window != currentWindow) {
+            used.set(0);
+            window = currentWindow;
+          }
+        }
+      }
+      return used.incrementAndGet() <= limit;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.appointment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JobLease Entity - Time-bounded lease on a scheduled job shared by all backend replicas
+ * The replica holding an unexpired lease is the only one running the job.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  @Column(nullable = false)
+  private String owner;
+
+  @Column(name = "locked_at", nullable = false)
+  private LocalDateTime lockedAt;
+
+  /**
+   * The lease is free once this instant has passed, also when the holder died without releasing it
+   */
+  @Column(name = "locked_until", nullable = false)
+  private LocalDateTime lockedUntil;
+}
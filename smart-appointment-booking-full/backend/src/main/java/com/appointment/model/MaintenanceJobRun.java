@@ -0,0 +1,74 @@
+package com.appointment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * MaintenanceJobRun Entity - History and progress of background maintenance job runs
+ * Progress is committed together with each processed chunk, so an interrupted run can be resumed
+ */
+@Entity
+@Table(name = "maintenance_job_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceJobRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "job_name", nullable = false, length = 100)
+  private String jobName;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Status status = Status.RUNNING;
+
+  /**
+   * Rows older than this instant are processed by the run (fixed when the run starts)
+   */
+  @Column(nullable = false)
+  private LocalDateTime cutoff;
+
+  /**
+   * Highest row ID already processed; a resumed run continues after it
+   */
+  @Column(name = "last_processed_id", nullable = false)
+  private Long lastProcessedId = 0L;
+
+  @Column(name = "rows_processed", nullable = false)
+  private Long rowsProcessed = 0L;
+
+  @Column(name = "chunks_processed", nullable = false)
+  private Integer chunksProcessed = 0;
+
+  @Column(name = "started_at", nullable = false)
+  private LocalDateTime startedAt;
+
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  @Column(name = "error_message", length = 1000)
+  private String errorMessage;
+
+  /**
+   * Enum for Run Status
+   */
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  /**
+   * Helper method to check if the run stopped before processing all rows
+   */
+  public boolean isResumable() {
+    return this.status == Status.RUNNING || this.status == Status.FAILED;
+  }
+}
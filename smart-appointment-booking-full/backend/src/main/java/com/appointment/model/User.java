@@ -23,8 +23,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class User {
 
+  // Ids are reserved in blocks of 50 (pooled optimizer) so inserts can be batched; see V4__pooled_id_sequences
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank(message = "Name is required")
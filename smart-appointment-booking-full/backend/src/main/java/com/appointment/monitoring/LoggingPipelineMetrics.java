@@ -0,0 +1,66 @@
+package com.appointment.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import com.appointment.logging.BoundedAsyncAppender;
+import com.appointment.logging.LoggerRateSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Metrics of the asynchronous logging pipeline configured in logback-spring.xml
+ * logging.events.dropped counts events that were never written, tagged with the reason:
+ * sampled (logger over its rate budget), discarded (INFO and below, queue nearly full)
+ * or overflow (queue full). logging.queue.size is the backlog of the writer thread.
+ */
+@Component
+public class LoggingPipelineMetrics implements MeterBinder {
+
+  static final String DROPPED = "logging.events.dropped";
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+    if (!(loggerFactory instanceof LoggerContext context)) {
+      return;
+    }
+    for (TurboFilter filter : context.getTurboFilterList()) {
+      if (filter instanceof LoggerRateSampler sampler) {
+        FunctionCounter.builder(DROPPED, sampler, LoggerRateSampler::getSampledOutCount)
+          .description("Log events that were not written")
+          .tag("reason", "sampled")
+          .tag("appender", "all")
+          .register(registry);
+      }
+    }
+    Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+    while (appenders.hasNext()) {
+      if (appenders.next() instanceof BoundedAsyncAppender appender) {
+        FunctionCounter.builder(DROPPED, appender, BoundedAsyncAppender::getDiscardedCount)
+          .description("Log events that were not written")
+          .tag("reason", "discarded")
+          .tag("appender", appender.getName())
+          .register(registry);
+        FunctionCounter.builder(DROPPED, appender, BoundedAsyncAppender::getOverflowCount)
+          .description("Log events that were not written")
+          .tag("reason", "overflow")
+          .tag("appender", appender.getName())
+          .register(registry);
+        Gauge.builder("logging.queue.size", appender, BoundedAsyncAppender::getQueuedCount)
+          .description("Log events waiting for the writer thread")
+          .tag("appender", appender.getName())
+          .register(registry);
+      }
+    }
+  }
+}
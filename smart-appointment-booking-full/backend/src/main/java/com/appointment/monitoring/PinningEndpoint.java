@@ -0,0 +1,35 @@
+package com.appointment.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for virtual thread pinning
+ * GET    /actuator/pinning  -> pinning sites, most frequent first
+ * DELETE /actuator/pinning  -> forget recorded sites
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnBean(VirtualThreadPinningMonitor.class)
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+  private final VirtualThreadPinningMonitor monitor;
+
+  @ReadOperation
+  public List<Map<String, Object>> sites() {
+    return monitor.getSites();
+  }
+
+  @DeleteOperation
+  public void reset() {
+    monitor.reset();
+  }
+}
@@ -0,0 +1,169 @@
+package com.appointment.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects virtual threads pinned to their carrier thread
+ * A virtual thread that blocks inside a synchronized block or a native call keeps its carrier
+ * thread busy; a few of these (e.g. in JDBC drivers or Hibernate) can stall all virtual threads.
+ * Listens to the JDK's jdk.VirtualThreadPinned flight-recorder events in-process, logs each
+ * distinct pinning site once, counts them per site and reports them on /actuator/pinning.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int MAX_FRAMES = 12;
+
+  private final Duration threshold;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Site> sites = new ConcurrentHashMap<>();
+  private volatile RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(@Value("${monitoring.pinning.threshold-ms:20}") long thresholdMillis,
+                                     MeterRegistry meterRegistry) {
+    this.threshold = Duration.ofMillis(thresholdMillis);
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Pinning statistics of one stack trace
+   */
+  static final class Site {
+
+    private final String topFrame;
+    private final List<String> stackTrace;
+    private final Counter counter;
+    private final LongAdder count = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    Site(String topFrame, List<String> stackTrace, Counter counter) {
+      this.topFrame = topFrame;
+      this.stackTrace = stackTrace;
+      this.counter = counter;
+    }
+
+    void record(Duration duration) {
+      count.increment();
+      counter.increment();
+      totalNanos.addAndGet(duration.toNanos());
+      maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+    }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> map = new LinkedHashMap<>();
+      map.put("frame", topFrame);
+      map.put("count", count.sum());
+      map.put("maxMillis", maxNanos.get() / 1_000_000.0);
+      map.put("totalMillis", totalNanos.get() / 1_000_000.0);
+      map.put("stackTrace", stackTrace);
+      return map;
+    }
+  }
+
+  @Override
+  public void start() {
+    RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+    stream = recording;
+    log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream recording = stream;
+    stream = null;
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  /**
+   * Record one pinning event
+   * @param event jdk.VirtualThreadPinned event
+   */
+  void onPinned(RecordedEvent event) {
+    List<String> frames = frames(event.getStackTrace());
+    String key = String.join("\n", frames);
+    Site site = sites.computeIfAbsent(key, ignored -> {
+      String topFrame = frames.stream().filter(VirtualThreadPinningMonitor::isApplicationFrame)
+        .findFirst().orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+      log.warn("Virtual thread pinned for {} ms at {}\n\t{}",
+        event.getDuration().toMillis(), topFrame, String.join("\n\t", frames));
+      return new Site(topFrame, frames, Counter.builder("virtualthreads.pinned")
+        .description("Virtual threads pinned to their carrier thread longer than the threshold")
+        .tag("frame", topFrame)
+        .register(meterRegistry));
+    });
+    site.record(event.getDuration());
+  }
+
+  /**
+   * Get the pinning sites seen so far, most frequent first
+   * @return One entry per distinct stack trace
+   */
+  public List<Map<String, Object>> getSites() {
+    List<Site> all = new ArrayList<>(sites.values());
+    all.sort(Comparator.comparingLong((Site site) -> site.count.sum()).reversed());
+    return all.stream().map(Site::toMap).toList();
+  }
+
+  /**
+   * Forget all recorded sites
+   */
+  public void reset() {
+    sites.clear();
+  }
+
+  private static List<String> frames(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return List.of();
+    }
+    return stackTrace.getFrames().stream()
+      .limit(MAX_FRAMES)
+      .map(VirtualThreadPinningMonitor::describe)
+      .toList();
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+      + ":" + frame.getLineNumber();
+  }
+
+  // First frame of our code, the JDBC driver or Hibernate names the site better than JDK internals
+  private static boolean isApplicationFrame(String frame) {
+    return frame.startsWith("com.appointment.") || frame.startsWith("org.hibernate.")
+      || frame.startsWith("org.postgresql.") || frame.startsWith("org.h2.") || frame.startsWith("com.zaxxer.hikari.");
+  }
+}
@@ -1,13 +1,17 @@
 package com.appointment.repository;
 
+import com.appointment.dto.AppointmentResponse;
 import com.appointment.model.Appointment;
 import com.appointment.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,10 +19,180 @@ import java.util.List;
  * Provides CRUD operations and custom queries for appointments
  */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentStreamingRepository {
+
+  /**
+   * Constructor expression selecting only the columns of AppointmentResponse, with customer and provider joined once
+   * Queries starting with this prefix return DTOs directly instead of managed entities. Customer and provider are
+   * entity joins, so filters on a.customer.id / a.serviceProvider.id apply to the appointment's foreign key
+   * columns and can use the appointment indexes.
+   */
+  String RESPONSE_PROJECTION = "SELECT new com.appointment.dto.AppointmentResponse(" +
+    "a.id, c.id, c.name, c.email, p.id, p.name, p.email, " +
+    "a.serviceType, a.appointmentDateTime, a.notes, a.status, a.createdAt, a.updatedAt) " +
+    "FROM Appointment a JOIN User c ON c.id = a.customer.id JOIN User p ON p.id = a.serviceProvider.id ";
+
+  /**
+   * Find all appointments for a customer as response DTOs
+   * @param customerId Customer ID
+   * @return List of appointment responses
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.customer.id = :customerId")
+  List<AppointmentResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+  /**
+   * Aggregate fingerprint of the appointment responses of one customer or provider, for conditional GETs:
+   * [count, last appointment change, last customer change, last provider change, number already started].
+   * The started count is included because the past/upcoming flags of a response depend on the clock.
+   */
+  String VERSION_PROJECTION = "SELECT COUNT(a), MAX(a.updatedAt), MAX(c.updatedAt), MAX(p.updatedAt), " +
+    "SUM(CASE WHEN a.appointmentDateTime < :now THEN 1 ELSE 0 END) " +
+    "FROM Appointment a JOIN a.customer c JOIN a.serviceProvider p ";
+
+  /**
+   * Compute the version of a customer's appointment list without loading it
+   * @param customerId Customer ID
+   * @param now Current time
+   * @return One row, see VERSION_PROJECTION
+   */
+  @Query(VERSION_PROJECTION + "WHERE c.id = :customerId")
+  List<Object[]> findVersionByCustomerId(@Param("customerId") Long customerId, @Param("now") LocalDateTime now);
+
+  /**
+   * Compute the version of a service provider's appointment list without loading it
+   * @param providerId Service provider ID
+   * @param now Current time
+   * @return One row, see VERSION_PROJECTION
+   */
+  @Query(VERSION_PROJECTION + "WHERE p.id = :providerId")
+  List<Object[]> findVersionByServiceProviderId(@Param("providerId") Long providerId, @Param("now") LocalDateTime now);
+
+  /**
+   * Find all appointments for a service provider as response DTOs
+   * @param providerId Service provider ID
+   * @return List of appointment responses
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.serviceProvider.id = :providerId")
+  List<AppointmentResponse> findResponsesByServiceProviderId(@Param("providerId") Long providerId);
+
+  /**
+   * Find upcoming appointments for a customer as response DTOs
+   * @param customerId Customer ID
+   * @param now Current date/time
+   * @return List of upcoming appointment responses ordered by date
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.customer.id = :customerId " +
+    "AND a.appointmentDateTime > :now " +
+    "AND (a.status = 'PENDING' OR a.status = 'CONFIRMED') " +
+    "ORDER BY a.appointmentDateTime ASC")
+  List<AppointmentResponse> findUpcomingResponsesByCustomer(
+    @Param("customerId") Long customerId,
+    @Param("now") LocalDateTime now
+  );
+
+  /**
+   * Find appointments by status as response DTOs
+   * @param status Appointment status
+   * @return List of appointment responses
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.status = :status")
+  List<AppointmentResponse> findResponsesByStatus(@Param("status") Appointment.Status status);
+
+  /**
+   * Find appointments between specific dates as response DTOs
+   * @param start Start date/time
+   * @param end End date/time
+   * @return List of appointment responses in date range
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.appointmentDateTime BETWEEN :start AND :end")
+  List<AppointmentResponse> findResponsesByDateRange(
+    @Param("start") LocalDateTime start,
+    @Param("end") LocalDateTime end
+  );
+
+  /**
+   * Find the next page of appointments in ID order as response DTOs (used to build the search index)
+   * @param afterId Only IDs greater than this are returned
+   * @param pageable Page size (offset is always 0)
+   * @return Appointment responses in ascending ID order
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.id > :afterId ORDER BY a.id ASC")
+  List<AppointmentResponse> findResponsesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Find appointments by ID as response DTOs
+   * @param ids Appointment IDs
+   * @return List of appointment responses, in no particular order
+   */
+  @Query(RESPONSE_PROJECTION + "WHERE a.id IN :ids")
+  List<AppointmentResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Find all appointments in listing order (most recent first, then by customer and ID)
+   * Customer and provider are fetched in the same query
+   * @return List of appointments
+   */
+  @Query("SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.serviceProvider " +
+    "ORDER BY a.appointmentDateTime DESC, a.customer.id DESC, a.id DESC")
+  List<Appointment> findAllOrderedForListing();
+
+  /**
+   * Find the first page of appointments in listing order (keyset pagination)
+   * @param pageable Page size (offset is always 0)
+   * @return First page of appointments
+   */
+  @Query("SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.serviceProvider " +
+    "ORDER BY a.appointmentDateTime DESC, a.customer.id DESC, a.id DESC")
+  List<Appointment> findFirstPageForListing(Pageable pageable);
+
+  /**
+   * Find the page of appointments following the given position in listing order (keyset pagination)
+   * @param dateTime Date/time of the last appointment already returned
+   * @param customerId Customer ID of the last appointment already returned
+   * @param id ID of the last appointment already returned
+   * @param pageable Page size (offset is always 0)
+   * @return Next page of appointments
+   */
+  @Query("SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.serviceProvider " +
+    "WHERE a.appointmentDateTime < :dateTime " +
+    "OR (a.appointmentDateTime = :dateTime AND (a.customer.id < :customerId " +
+    "OR (a.customer.id = :customerId AND a.id < :id))) " +
+    "ORDER BY a.appointmentDateTime DESC, a.customer.id DESC, a.id DESC")
+  List<Appointment> findNextPageForListing(
+    @Param("dateTime") LocalDateTime dateTime,
+    @Param("customerId") Long customerId,
+    @Param("id") Long id,
+    Pageable pageable
+  );
+
   // Find appointments that are PENDING and in the past
   List<Appointment> findByStatusAndAppointmentDateTimeBefore(Appointment.Status status, LocalDateTime dateTime);
 
+  /**
+   * Find the IDs of the next chunk of PENDING appointments scheduled before a cutoff
+   * Walks the expired rows in ID order so a batch job can resume after the last processed ID
+   * @param cutoff Appointments scheduled before this time are expired
+   * @param afterId Only IDs greater than this are returned
+   * @param pageable Chunk size (offset is always 0)
+   * @return IDs in ascending order
+   */
+  @Query("SELECT a.id FROM Appointment a WHERE a.status = 'PENDING' " +
+    "AND a.appointmentDateTime < :cutoff AND a.id > :afterId ORDER BY a.id ASC")
+  List<Long> findExpiredPendingIds(
+    @Param("cutoff") LocalDateTime cutoff,
+    @Param("afterId") Long afterId,
+    Pageable pageable
+  );
+
+  /**
+   * Delete the given appointments if they are still PENDING, in one set-based statement
+   * @param ids Appointment IDs
+   * @return Number of deleted appointments
+   */
+  @Modifying
+  @Query("DELETE FROM Appointment a WHERE a.id IN :ids AND a.status = 'PENDING'")
+  int deletePendingByIds(@Param("ids") List<Long> ids);
+
   /**
    * Find all appointments for a specific customer
    * @param customer Customer entity
@@ -181,6 +355,16 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Param("endTime") LocalDateTime endTime
   );
 
+  /**
+   * Find the time slots of all non-cancelled appointments from a given time onwards
+   * Used to build the in-memory booking index without loading entities
+   * @param from Earliest appointment date/time to include
+   * @return List of [appointmentId, providerId, appointmentDateTime] arrays
+   */
+  @Query("SELECT a.id, a.serviceProvider.id, a.appointmentDateTime FROM Appointment a " +
+    "WHERE a.status != 'CANCELLED' AND a.appointmentDateTime >= :from")
+  List<Object[]> findActiveBookingSlots(@Param("from") LocalDateTime from);
+
   /**
    * Search appointments by customer name or service type
    * @param keyword Search keyword
@@ -203,6 +387,42 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     "WHERE a.serviceProvider.id = :providerId GROUP BY a.status")
   List<Object[]> getAppointmentStatsByProvider(@Param("providerId") Long providerId);
 
+  /**
+   * Get appointment counts grouped by status across all appointments
+   * @return List of [status, count] arrays
+   */
+  @Query("SELECT a.status, COUNT(a) FROM Appointment a GROUP BY a.status")
+  List<Object[]> countGroupedByStatus();
+
+  /**
+   * Get appointment counts grouped by service type and status
+   * @return List of [serviceType, status, count] arrays
+   */
+  @Query("SELECT a.serviceType, a.status, COUNT(a) FROM Appointment a GROUP BY a.serviceType, a.status")
+  List<Object[]> countGroupedByServiceTypeAndStatus();
+
+  /**
+   * Get appointment counts grouped by service provider and status
+   * @return List of [providerId, providerName, status, count] arrays
+   */
+  @Query("SELECT p.id, p.name, a.status, COUNT(a) FROM Appointment a JOIN a.serviceProvider p " +
+    "GROUP BY p.id, p.name, a.status")
+  List<Object[]> countGroupedByProviderAndStatus();
+
+  /**
+   * Get appointment counts grouped by calendar day and status within a time range
+   * @param start Start of range (inclusive)
+   * @param end End of range (exclusive)
+   * @return List of [day, status, count] arrays
+   */
+  @Query("SELECT CAST(a.appointmentDateTime AS LocalDate), a.status, COUNT(a) FROM Appointment a " +
+    "WHERE a.appointmentDateTime >= :start AND a.appointmentDateTime < :end " +
+    "GROUP BY CAST(a.appointmentDateTime AS LocalDate), a.status")
+  List<Object[]> countGroupedByDayAndStatus(
+    @Param("start") LocalDateTime start,
+    @Param("end") LocalDateTime end
+  );
+
   /**
    * Find appointments for today for a provider
    * @param providerId Provider ID
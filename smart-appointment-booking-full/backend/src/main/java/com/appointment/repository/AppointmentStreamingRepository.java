@@ -0,0 +1,22 @@
+package com.appointment.repository;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.export.AppointmentExportFilter;
+
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment streaming appointments as response DTOs
+ * Rows are read from a forward-only cursor, so memory use does not grow with the number of rows.
+ */
+public interface AppointmentStreamingRepository {
+
+  /**
+   * Stream appointments matching the filter, ordered by date/time and ID
+   * Must be called inside a transaction and the stream must be closed by the caller
+   * @param filter Filters, null fields are ignored
+   * @param fetchSize Number of rows the JDBC driver fetches per round trip
+   * @return Stream of appointment responses
+   */
+  Stream<AppointmentResponse> streamResponses(AppointmentExportFilter filter, int fetchSize);
+}
@@ -0,0 +1,60 @@
+package com.appointment.repository;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.export.AppointmentExportFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of AppointmentStreamingRepository
+ * Only the filters that are set become predicates, so the database can use the matching index.
+ */
+class AppointmentStreamingRepositoryImpl implements AppointmentStreamingRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Stream<AppointmentResponse> streamResponses(AppointmentExportFilter filter, int fetchSize) {
+    List<String> predicates = new ArrayList<>();
+    if (filter.start() != null) {
+      predicates.add("a.appointmentDateTime >= :start");
+    }
+    if (filter.end() != null) {
+      predicates.add("a.appointmentDateTime <= :end");
+    }
+    if (filter.status() != null) {
+      predicates.add("a.status = :status");
+    }
+    if (filter.providerId() != null) {
+      // The foreign key column, not the joined users.id, so the provider index on appointments is used
+      predicates.add("a.serviceProvider.id = :providerId");
+    }
+    String jpql = AppointmentRepository.RESPONSE_PROJECTION
+      + (predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + " ")
+      + "ORDER BY a.appointmentDateTime ASC, a.id ASC";
+
+    TypedQuery<AppointmentResponse> query = entityManager.createQuery(jpql, AppointmentResponse.class)
+      .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+      .setHint(HibernateHints.HINT_READ_ONLY, true);
+    if (filter.start() != null) {
+      query.setParameter("start", filter.start());
+    }
+    if (filter.end() != null) {
+      query.setParameter("end", filter.end());
+    }
+    if (filter.status() != null) {
+      query.setParameter("status", filter.status());
+    }
+    if (filter.providerId() != null) {
+      query.setParameter("providerId", filter.providerId());
+    }
+    return query.getResultStream();
+  }
+}
@@ -0,0 +1,70 @@
+package com.appointment.repository;
+
+import com.appointment.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for JobLease entity
+ * Leases are claimed with single conditional statements so concurrent replicas cannot both win.
+ * All instants are taken from the database clock (LOCALTIMESTAMP), so clock skew
+ * between replicas does not move the expiry.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+  /**
+   * Take over a lease whose previous holder released it or let it expire
+   * @return 1 if the lease was claimed, 0 if it is still held
+   */
+  @Modifying
+  @Query(value = "UPDATE job_leases SET owner = :owner, locked_at = LOCALTIMESTAMP, " +
+    "locked_until = LOCALTIMESTAMP + CAST(:lockAtMostSeconds AS DOUBLE PRECISION) * INTERVAL '1' SECOND " +
+    "WHERE name = :name AND locked_until <= LOCALTIMESTAMP", nativeQuery = true)
+  int claimExpired(
+    @Param("name") String name,
+    @Param("owner") String owner,
+    @Param("lockAtMostSeconds") double lockAtMostSeconds
+  );
+
+  /**
+   * Create a free lease row for a job that has never run; fails with a key violation if another replica was faster
+   * @return 1 if the lease row was created
+   */
+  @Modifying
+  @Query(value = "INSERT INTO job_leases (name, owner, locked_at, locked_until) " +
+    "VALUES (:name, '', LOCALTIMESTAMP, LOCALTIMESTAMP)", nativeQuery = true)
+  int insertFreeLease(@Param("name") String name);
+
+  /**
+   * Extend a lease held by the given owner to lock-at-most from now
+   * @return 1 if the owner still held the lease
+   */
+  @Modifying
+  @Query(value = "UPDATE job_leases " +
+    "SET locked_until = LOCALTIMESTAMP + CAST(:lockAtMostSeconds AS DOUBLE PRECISION) * INTERVAL '1' SECOND " +
+    "WHERE name = :name AND owner = :owner", nativeQuery = true)
+  int renew(
+    @Param("name") String name,
+    @Param("owner") String owner,
+    @Param("lockAtMostSeconds") double lockAtMostSeconds
+  );
+
+  /**
+   * Release a lease held by the given owner, keeping it until lock-at-least after it was claimed
+   * (an expiry that already passed frees the lease right away)
+   * @return 1 if the owner still held the lease
+   */
+  @Modifying
+  @Query(value = "UPDATE job_leases " +
+    "SET locked_until = locked_at + CAST(:lockAtLeastSeconds AS DOUBLE PRECISION) * INTERVAL '1' SECOND " +
+    "WHERE name = :name AND owner = :owner", nativeQuery = true)
+  int release(
+    @Param("name") String name,
+    @Param("owner") String owner,
+    @Param("lockAtLeastSeconds") double lockAtLeastSeconds
+  );
+}
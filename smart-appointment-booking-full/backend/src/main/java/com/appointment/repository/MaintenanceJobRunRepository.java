@@ -0,0 +1,38 @@
+package com.appointment.repository;
+
+import com.appointment.model.MaintenanceJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for MaintenanceJobRun entity
+ * Provides run history and resume points of background maintenance jobs
+ */
+@Repository
+public interface MaintenanceJobRunRepository extends JpaRepository<MaintenanceJobRun, Long> {
+
+  /**
+   * Find the most recent run of a job
+   * @param jobName Job name
+   * @return Optional containing the latest run if any
+   */
+  Optional<MaintenanceJobRun> findFirstByJobNameOrderByIdDesc(String jobName);
+
+  /**
+   * Find the most recent run of a job that ended in the given status
+   * @param jobName Job name
+   * @param status Run status
+   * @return Optional containing the latest such run if any
+   */
+  Optional<MaintenanceJobRun> findFirstByJobNameAndStatusOrderByIdDesc(String jobName, MaintenanceJobRun.Status status);
+
+  /**
+   * Find the most recent runs of a job
+   * @param jobName Job name
+   * @return Up to 20 runs, newest first
+   */
+  List<MaintenanceJobRun> findTop20ByJobNameOrderByIdDesc(String jobName);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +31,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
    */
   boolean existsByEmail(String email);
 
+  /**
+   * Find which of the given emails are already registered
+   * @param emails Emails to check
+   * @return The subset of emails that exist
+   */
+  @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
   /**
    * Find all users by role
    * @param role User role (CUSTOMER, SERVICE_PROVIDER, ADMIN)
@@ -0,0 +1,222 @@
+package com.appointment.scheduler;
+
+import com.appointment.event.AppointmentsPurgedEvent;
+import com.appointment.model.MaintenanceJobRun;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.repository.MaintenanceJobRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Batch job removing expired PENDING appointments
+ * Rows are deleted in bounded chunks, each in its own short transaction, with a pause between
+ * chunks so the job never holds locks on large parts of the appointments table. The progress of
+ * the run is committed together with every chunk; a run interrupted by a crash or an error is
+ * resumed after its last processed ID by the next execution.
+ *
+ * The lag gauge starts from the cutoff of the last completed run in the run history, so it is
+ * meaningful right after a restart instead of reporting NaN until the next run completes.
+ *
+ * Deleted rows are not published one by one; every chunk publishes one AppointmentsPurgedEvent.
+ */
+@Component
+@Slf4j
+public class AppointmentCleanupJob implements SmartInitializingSingleton {
+
+  public static final String JOB_NAME = "expired-appointment-cleanup";
+
+  private final AppointmentRepository appointmentRepository;
+  private final MaintenanceJobRunRepository jobRunRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+  private final long pauseMillis;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicReference<LocalDateTime> lastCompletedCutoff = new AtomicReference<>();
+
+  private final Counter rowsCounter;
+  private final Timer durationTimer;
+
+  public AppointmentCleanupJob(AppointmentRepository appointmentRepository,
+                               MaintenanceJobRunRepository jobRunRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${appointment.cleanup.chunk-size:5000}") int chunkSize,
+                               @Value("${appointment.cleanup.pause-ms:200}") long pauseMillis,
+                               MeterRegistry meterRegistry) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Cleanup chunk size must be positive");
+    }
+    this.appointmentRepository = appointmentRepository;
+    this.jobRunRepository = jobRunRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+    this.pauseMillis = pauseMillis;
+
+    this.rowsCounter = Counter.builder("appointment.cleanup.rows")
+      .description("Expired PENDING appointments removed by the cleanup job")
+      .register(meterRegistry);
+    this.durationTimer = Timer.builder("appointment.cleanup.duration")
+      .description("Duration of cleanup job runs")
+      .register(meterRegistry);
+    Gauge.builder("appointment.cleanup.lag", this, AppointmentCleanupJob::lagSeconds)
+      .description("Seconds since the cutoff of the last completed cleanup run")
+      .baseUnit("seconds")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    jobRunRepository.findFirstByJobNameAndStatusOrderByIdDesc(JOB_NAME, MaintenanceJobRun.Status.COMPLETED)
+      .ifPresent(run -> lastCompletedCutoff.compareAndSet(null, run.getCutoff()));
+  }
+
+  /**
+   * Run the job under a cluster lease, renewing the lease after every committed chunk
+   * If the lease is lost, the run stops as FAILED and is resumed by the replica that took it over.
+   * @param lease Lease of this job held by the caller
+   * @return The finished run, or empty if a run is already in progress on this instance
+   */
+  public Optional<MaintenanceJobRun> run(JobLeaseManager.Lease lease) {
+    return run(lease::renew);
+  }
+
+  /**
+   * Run the job without a cluster lease (single instance), resuming an interrupted run if there is one
+   * @return The finished run, or empty if a run is already in progress on this instance
+   */
+  public Optional<MaintenanceJobRun> run() {
+    return run(() -> { });
+  }
+
+  private Optional<MaintenanceJobRun> run(Runnable afterChunk) {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Cleanup job is already running, skipping this trigger");
+      return Optional.empty();
+    }
+    Timer.Sample sample = Timer.start();
+    try {
+      return Optional.of(execute(startOrResume(), afterChunk));
+    } finally {
+      sample.stop(durationTimer);
+      running.set(false);
+    }
+  }
+
+  /**
+   * Get the most recent runs of this job
+   * @return Up to 20 runs, newest first
+   */
+  public List<MaintenanceJobRun> getRunHistory() {
+    return jobRunRepository.findTop20ByJobNameOrderByIdDesc(JOB_NAME);
+  }
+
+  private MaintenanceJobRun startOrResume() {
+    Optional<MaintenanceJobRun> latest = jobRunRepository.findFirstByJobNameOrderByIdDesc(JOB_NAME);
+    if (latest.isPresent() && latest.get().isResumable()) {
+      MaintenanceJobRun run = latest.get();
+      log.info("Resuming cleanup run {} after appointment ID {}", run.getId(), run.getLastProcessedId());
+      run.setStatus(MaintenanceJobRun.Status.RUNNING);
+      run.setErrorMessage(null);
+      return jobRunRepository.save(run);
+    }
+
+    MaintenanceJobRun run = new MaintenanceJobRun();
+    run.setJobName(JOB_NAME);
+    run.setCutoff(LocalDateTime.now());
+    run.setStartedAt(LocalDateTime.now());
+    return jobRunRepository.save(run);
+  }
+
+  private MaintenanceJobRun execute(MaintenanceJobRun run, Runnable afterChunk) {
+    try {
+      MaintenanceJobRun next;
+      while ((next = processChunk(run)) != null) {
+        rowsCounter.increment(next.getRowsProcessed() - run.getRowsProcessed());
+        run = next;
+        afterChunk.run();
+        pause();
+      }
+      run.setStatus(MaintenanceJobRun.Status.COMPLETED);
+      run.setFinishedAt(LocalDateTime.now());
+      lastCompletedCutoff.set(run.getCutoff());
+      log.info("Cleanup run {} removed {} expired appointments in {} chunks",
+        run.getId(), run.getRowsProcessed(), run.getChunksProcessed());
+    } catch (RuntimeException e) {
+      run.setStatus(MaintenanceJobRun.Status.FAILED);
+      run.setFinishedAt(LocalDateTime.now());
+      run.setErrorMessage(truncate(e.getMessage()));
+      log.error("Cleanup run {} failed after appointment ID {}", run.getId(), run.getLastProcessedId(), e);
+    }
+    return jobRunRepository.save(run);
+  }
+
+  /**
+   * Delete one chunk and record the progress in the same transaction
+   * If the transaction rolls back, the given run is left untouched so it still points at the
+   * last committed chunk.
+   * @return The run with the chunk's progress applied, or null if no expired rows are left
+   */
+  private MaintenanceJobRun processChunk(MaintenanceJobRun run) {
+    return transactionTemplate.execute(status -> {
+      List<Long> ids = appointmentRepository.findExpiredPendingIds(
+        run.getCutoff(), run.getLastProcessedId(), PageRequest.of(0, chunkSize));
+      if (ids.isEmpty()) {
+        return null;
+      }
+      int deleted = appointmentRepository.deletePendingByIds(ids);
+      if (deleted > 0) {
+        eventPublisher.publishEvent(new AppointmentsPurgedEvent(deleted));
+      }
+
+      MaintenanceJobRun progress = jobRunRepository.findById(run.getId()).orElseThrow();
+      progress.setLastProcessedId(ids.get(ids.size() - 1));
+      progress.setRowsProcessed(progress.getRowsProcessed() + deleted);
+      progress.setChunksProcessed(progress.getChunksProcessed() + 1);
+      return progress;
+    });
+  }
+
+  private void pause() {
+    if (pauseMillis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(pauseMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Cleanup job interrupted", e);
+    }
+  }
+
+  private double lagSeconds() {
+    LocalDateTime cutoff = lastCompletedCutoff.get();
+    return cutoff == null ? Double.NaN : Duration.between(cutoff, LocalDateTime.now()).toSeconds();
+  }
+
+  private static String truncate(String message) {
+    if (message == null) {
+      return null;
+    }
+    return message.length() <= 1000 ? message : message.substring(0, 1000);
+  }
+}
@@ -0,0 +1,44 @@
+package com.appointment.scheduler;
+
+import com.appointment.model.MaintenanceJobRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Actuator endpoint for the expired-appointment cleanup job
+ * GET  /actuator/cleanupjob  -> most recent runs, newest first
+ * POST /actuator/cleanupjob  -> run the job now (resumes an interrupted run), unless another replica holds its lease
+ */
+@Component
+@Endpoint(id = "cleanupjob")
+@RequiredArgsConstructor
+public class CleanupJobEndpoint {
+
+  private final AppointmentCleanupJob cleanupJob;
+  private final JobLeaseManager jobLeaseManager;
+
+  @ReadOperation
+  public List<MaintenanceJobRun> history() {
+    return cleanupJob.getRunHistory();
+  }
+
+  @WriteOperation
+  public Map<String, Object> trigger() {
+    Optional<JobLeaseManager.Lease> lease = jobLeaseManager.tryAcquire(AppointmentCleanupJob.JOB_NAME);
+    if (lease.isEmpty()) {
+      return Map.of("skipped", "The cleanup job is running on another replica");
+    }
+    try (JobLeaseManager.Lease held = lease.get()) {
+      return cleanupJob.run(held)
+        .<Map<String, Object>>map(run -> Map.of("run", run))
+        .orElseGet(() -> Map.of("skipped", "A cleanup run is already in progress"));
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.appointment.scheduler;
+
+import com.appointment.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide leases for scheduled jobs, stored in the shared database
+ * Every replica triggers its scheduled jobs, but only the replica that claims the job's lease
+ * runs it. A lease is held for at least lock-at-least-ms, so replicas whose trigger fires a little
+ * later do not run the job again, and at most lock-at-most-ms, after which another replica takes
+ * over if the holder died. Long-running jobs renew their lease as they make progress, so a job
+ * that outlives lock-at-most-ms is not started a second time by another replica.
+ *
+ * Expiry is computed and compared with the database clock, so clock skew between replicas does not
+ * matter.
+ */
+@Component
+@Slf4j
+public class JobLeaseManager {
+
+  private final JobLeaseRepository leaseRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final String owner;
+  private final double lockAtMostSeconds;
+  private final double lockAtLeastSeconds;
+
+  public JobLeaseManager(JobLeaseRepository leaseRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${scheduler.lease.owner:}") String owner,
+                         @Value("${scheduler.lease.lock-at-most-ms:1800000}") long lockAtMostMillis,
+                         @Value("${scheduler.lease.lock-at-least-ms:60000}") long lockAtLeastMillis) {
+    if (lockAtLeastMillis > lockAtMostMillis) {
+      throw new IllegalArgumentException("Lease lock-at-least must not exceed lock-at-most");
+    }
+    this.leaseRepository = leaseRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.owner = (owner == null || owner.isBlank()) ? defaultOwner() : owner;
+    this.lockAtMostSeconds = lockAtMostMillis / 1000.0;
+    this.lockAtLeastSeconds = lockAtLeastMillis / 1000.0;
+  }
+
+  /**
+   * Run the task if this replica can claim the job's lease
+   * @param jobName Job name, shared by all replicas
+   * @param task Job body, given the lease so it can renew it while it runs
+   * @return true if the task ran here, false if another replica holds the lease
+   */
+  public boolean runExclusively(String jobName, Consumer<Lease> task) {
+    Optional<Lease> lease = tryAcquire(jobName);
+    if (lease.isEmpty()) {
+      log.debug("Skipping job {}, lease is held by another replica", jobName);
+      return false;
+    }
+    try (Lease held = lease.get()) {
+      task.accept(held);
+    }
+    return true;
+  }
+
+  /**
+   * Try to claim the job's lease
+   * @param jobName Job name, shared by all replicas
+   * @return Lease released when closed, or empty if another replica holds it
+   */
+  public Optional<Lease> tryAcquire(String jobName) {
+    if (!leaseRepository.existsById(jobName)) {
+      try {
+        transactionTemplate.execute(status -> leaseRepository.insertFreeLease(jobName));
+      } catch (DataIntegrityViolationException e) {
+        // Another replica created the lease row first; the claim below decides who gets it
+        log.debug("Lease row of job {} was created concurrently", jobName);
+      }
+    }
+    Integer claimed = transactionTemplate.execute(status -> leaseRepository.claimExpired(jobName, owner, lockAtMostSeconds));
+    if (claimed == null || claimed == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new Lease(jobName));
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  private static String defaultOwner() {
+    String host = System.getenv("HOSTNAME");
+    if (host == null || host.isBlank()) {
+      try {
+        host = InetAddress.getLocalHost().getHostName();
+      } catch (UnknownHostException e) {
+        host = "unknown";
+      }
+    }
+    // The suffix keeps two processes on one host (or a restarted pod) from sharing an identity
+    return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  /**
+   * Claimed lease; closing it keeps the lease until lock-at-least has passed, then frees it
+   */
+  public final class Lease implements AutoCloseable {
+
+    private final String jobName;
+
+    private Lease(String jobName) {
+      this.jobName = jobName;
+    }
+
+    /**
+     * Extend the lease to lock-at-most from now; call after each unit of committed progress
+     * @throws IllegalStateException if the lease expired and another replica took it over
+     */
+    public void renew() {
+      Integer renewed = transactionTemplate.execute(status -> leaseRepository.renew(jobName, owner, lockAtMostSeconds));
+      if (renewed == null || renewed == 0) {
+        throw new IllegalStateException("Lease of job " + jobName + " was taken over by another replica");
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        transactionTemplate.execute(status -> leaseRepository.release(jobName, owner, lockAtLeastSeconds));
+      } catch (RuntimeException e) {
+        // The lease still expires after lock-at-most
+        log.warn("Could not release lease of job {}", jobName, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,441 @@
+package com.appointment.search;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for keyword search over appointments
+ * Indexes customer name, provider name, service type and notes. Every 3-character substring of a
+ * field points to the appointments containing it; posting lists are sorted primitive ID arrays, so an
+ * indexed trigram costs 8 bytes per appointment. Keywords of three or more characters intersect the
+ * posting lists of their trigrams and each candidate is checked for the whole keyword. Shorter keywords
+ * match almost every appointment, so they scan the appointments newest first instead. Results match
+ * the former case-insensitive LIKE '%keyword%' search.
+ *
+ * Every candidate is scored into a bounded top-N heap, so the result cap keeps the best hits. At most
+ * search.max-scan candidates are scored per query, which bounds the work for very common keywords.
+ * Kept up to date from appointment and user change events.
+ */
+@Component
+@Slf4j
+public class AppointmentSearchIndex implements SmartInitializingSingleton {
+
+  private static final int GRAM = 3;
+  private static final int REBUILD_PAGE_SIZE = 1000;
+
+  private static final int NAME_WEIGHT = 3;
+  private static final int SERVICE_TYPE_WEIGHT = 2;
+  private static final int NOTES_WEIGHT = 1;
+
+  private final AppointmentRepository appointmentRepository;
+  private final int maxResults;
+  private final int maxScan;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private IndexData data = new IndexData();
+
+  public AppointmentSearchIndex(AppointmentRepository appointmentRepository,
+                                @Value("${search.max-results:1000}") int maxResults,
+                                @Value("${search.max-scan:50000}") int maxScan) {
+    this.appointmentRepository = appointmentRepository;
+    this.maxResults = maxResults;
+    this.maxScan = maxScan;
+  }
+
+  /**
+   * Searchable fields of one appointment, lower-cased
+   */
+  private record Document(Long id, Long customerId, Long providerId, LocalDateTime appointmentDateTime,
+                          String customerName, String providerName, String serviceType, String notes) {
+
+    static Document of(AppointmentResponse response) {
+      return new Document(
+        response.getId(),
+        response.getCustomerId(),
+        response.getServiceProviderId(),
+        response.getAppointmentDateTime(),
+        normalize(response.getCustomerName()),
+        normalize(response.getServiceProviderName()),
+        response.getServiceType() != null ? normalize(response.getServiceType().name()) : "",
+        normalize(response.getNotes())
+      );
+    }
+
+    Document withUserName(Long userId, String name) {
+      String normalized = normalize(name);
+      return new Document(id, customerId, providerId, appointmentDateTime,
+        userId.equals(customerId) ? normalized : customerName,
+        userId.equals(providerId) ? normalized : providerName,
+        serviceType, notes);
+    }
+
+    Set<String> trigrams() {
+      Set<String> grams = new HashSet<>();
+      for (String field : List.of(customerName, providerName, serviceType, notes)) {
+        grams.addAll(grams(field));
+      }
+      return grams;
+    }
+
+    /**
+     * Score a keyword against this document; 0 if it does not contain the keyword
+     */
+    int score(String keyword) {
+      return fieldScore(customerName, keyword, NAME_WEIGHT)
+        + fieldScore(providerName, keyword, NAME_WEIGHT)
+        + fieldScore(serviceType, keyword, SERVICE_TYPE_WEIGHT)
+        + fieldScore(notes, keyword, NOTES_WEIGHT);
+    }
+
+    private static int fieldScore(String field, String keyword, int weight) {
+      int index = field.indexOf(keyword);
+      if (index < 0) {
+        return 0;
+      }
+      // Matches at the start of a word rank above matches inside a word
+      boolean wordStart = index == 0 || !Character.isLetterOrDigit(field.charAt(index - 1));
+      return wordStart ? weight * 2 : weight;
+    }
+  }
+
+  /**
+   * Ranked search hit
+   * @param appointmentId Appointment ID
+   * @param score Relevance, higher is better
+   */
+  public record Hit(Long appointmentId, int score) {
+  }
+
+  /**
+   * Ranked hits of one query
+   * @param hits Best hits, best first, at most the result cap
+   * @param capped True if matches were left out (more than the result cap, or the scan limit was reached)
+   */
+  public record Result(List<Hit> hits, boolean capped) {
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  /**
+   * Reload the whole index from the database
+   * Appointments are read in pages of ascending ID into a new index, which then replaces the current one.
+   */
+  public void rebuild() {
+    IndexData rebuilt = new IndexData();
+    long afterId = 0;
+    List<AppointmentResponse> page;
+    do {
+      page = appointmentRepository.findResponsesAfterId(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+      for (AppointmentResponse response : page) {
+        rebuilt.add(Document.of(response));
+        afterId = response.getId();
+      }
+    } while (page.size() == REBUILD_PAGE_SIZE);
+
+    lock.writeLock().lock();
+    try {
+      data = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Appointment search index loaded with {} appointments", rebuilt.documents.size());
+  }
+
+  /**
+   * Apply a committed appointment change to the index
+   * @param event Appointment change
+   */
+  @TransactionalEventListener
+  public void onAppointmentChanged(AppointmentChangedEvent event) {
+    if (event.getType() == AppointmentChangedEvent.Type.DELETED) {
+      remove(event.getAppointmentId());
+      return;
+    }
+    appointmentRepository.findResponsesByIds(List.of(event.getAppointmentId()))
+      .forEach(this::put);
+  }
+
+  /**
+   * Re-index the appointments of a user whose name changed
+   * @param event User change
+   */
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    if (event.getType() != UserChangedEvent.Type.UPDATED) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      PostingList ids = data.documentsByUser.get(event.getUserId());
+      if (ids == null) {
+        return;
+      }
+      for (long id : ids.toArray()) {
+        Document updated = data.documents.get(id).withUserName(event.getUserId(), event.getName());
+        data.delete(id);
+        data.add(updated);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Add or replace an appointment in the index
+   * @param response Appointment with customer and provider names
+   */
+  public void put(AppointmentResponse response) {
+    lock.writeLock().lock();
+    try {
+      data.delete(response.getId());
+      data.add(Document.of(response));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove an appointment from the index
+   * @param appointmentId Appointment ID
+   */
+  public void remove(Long appointmentId) {
+    lock.writeLock().lock();
+    try {
+      data.delete(appointmentId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Find appointments containing the keyword in any indexed field
+   * Hits are ordered by score, then by appointment date (latest first), then by ID.
+   * @param keyword Keyword (case-insensitive, surrounding whitespace ignored)
+   * @return Ranked hits, at most the result cap
+   */
+  public Result search(String keyword) {
+    String normalized = normalize(keyword).strip();
+    lock.readLock().lock();
+    try {
+      // The worst of the best hits so far sits at the head and is replaced by any better candidate
+      PriorityQueue<RankedDocument> best = new PriorityQueue<>(RankedDocument.ORDER.reversed());
+      boolean capped = false;
+      // Candidates are visited newest first, so a scan cut short by the limit keeps recent appointments
+      PostingList candidates = data.candidates(normalized);
+      for (int i = candidates.size() - 1, scanned = 0; i >= 0; i--, scanned++) {
+        if (scanned == maxScan) {
+          capped = true;
+          break;
+        }
+        Document document = data.documents.get(candidates.get(i));
+        int score = document.score(normalized);
+        if (score == 0) {
+          continue;
+        }
+        RankedDocument ranked = new RankedDocument(document, score);
+        if (best.size() < maxResults) {
+          best.add(ranked);
+        } else {
+          capped = true;
+          if (RankedDocument.ORDER.compare(ranked, best.peek()) < 0) {
+            best.poll();
+            best.add(ranked);
+          }
+        }
+      }
+
+      List<Hit> hits = best.stream()
+        .sorted(RankedDocument.ORDER)
+        .map(ranked -> new Hit(ranked.document().id(), ranked.score()))
+        .toList();
+      return new Result(hits, capped);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Number of indexed appointments
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return data.documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private record RankedDocument(Document document, int score) {
+
+    static final Comparator<RankedDocument> ORDER = Comparator
+      .comparingInt(RankedDocument::score).reversed()
+      .thenComparing(ranked -> ranked.document().appointmentDateTime(), Comparator.nullsLast(Comparator.reverseOrder()))
+      .thenComparing(ranked -> ranked.document().id(), Comparator.reverseOrder());
+  }
+
+  /**
+   * Documents and posting lists; mutated under the write lock, or before it is published by rebuild
+   */
+  private static final class IndexData {
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, PostingList> documentsByUser = new HashMap<>();
+    private final PostingList allIds = new PostingList();
+
+    PostingList candidates(String keyword) {
+      if (keyword.length() < GRAM) {
+        return allIds;
+      }
+      // Intersect the trigram posting lists, smallest first
+      List<PostingList> lists = grams(keyword).stream()
+        .map(gram -> postings.getOrDefault(gram, PostingList.EMPTY))
+        .sorted(Comparator.comparingInt(PostingList::size))
+        .toList();
+      PostingList result = lists.get(0);
+      for (int i = 1; i < lists.size() && result.size() > 0; i++) {
+        result = result.intersect(lists.get(i));
+      }
+      return result;
+    }
+
+    void add(Document document) {
+      documents.put(document.id(), document);
+      allIds.add(document.id());
+      for (String gram : document.trigrams()) {
+        postings.computeIfAbsent(gram, key -> new PostingList()).add(document.id());
+      }
+      documentsByUser.computeIfAbsent(document.customerId(), key -> new PostingList()).add(document.id());
+      documentsByUser.computeIfAbsent(document.providerId(), key -> new PostingList()).add(document.id());
+    }
+
+    void delete(Long appointmentId) {
+      Document document = documents.remove(appointmentId);
+      if (document == null) {
+        return;
+      }
+      allIds.remove(appointmentId);
+      for (String gram : document.trigrams()) {
+        removeFrom(postings, gram, appointmentId);
+      }
+      removeFrom(documentsByUser, document.customerId(), appointmentId);
+      removeFrom(documentsByUser, document.providerId(), appointmentId);
+    }
+
+    private static <K> void removeFrom(Map<K, PostingList> lists, K key, long appointmentId) {
+      PostingList list = lists.get(key);
+      if (list != null && list.remove(appointmentId) && list.size() == 0) {
+        lists.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Ascending appointment IDs in a growable primitive array
+   * New appointments get the highest ID so far, so adding is an append in the common case.
+   */
+  private static final class PostingList {
+
+    static final PostingList EMPTY = new PostingList();
+
+    private long[] ids = new long[2];
+    private int size;
+
+    int size() {
+      return size;
+    }
+
+    long get(int index) {
+      return ids[index];
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(ids, size);
+    }
+
+    void add(long id) {
+      int insertAt;
+      if (size == 0 || ids[size - 1] < id) {
+        insertAt = size;
+      } else {
+        int found = Arrays.binarySearch(ids, 0, size, id);
+        if (found >= 0) {
+          return;
+        }
+        insertAt = -found - 1;
+      }
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+      }
+      System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+      ids[insertAt] = id;
+      size++;
+    }
+
+    boolean remove(long id) {
+      int found = Arrays.binarySearch(ids, 0, size, id);
+      if (found < 0) {
+        return false;
+      }
+      System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+      size--;
+      if (ids.length > 16 && size < ids.length / 4) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      return true;
+    }
+
+    // Walks this (the shorter) list and looks each ID up in the other one
+    PostingList intersect(PostingList other) {
+      PostingList result = new PostingList();
+      result.ids = new long[Math.max(size, 2)];
+      int from = 0;
+      for (int i = 0; i < size && from < other.size; i++) {
+        int found = Arrays.binarySearch(other.ids, from, other.size, ids[i]);
+        if (found >= 0) {
+          result.ids[result.size++] = ids[i];
+          from = found + 1;
+        } else {
+          from = -found - 1;
+        }
+      }
+      return result;
+    }
+  }
+
+  private static Set<String> grams(String text) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM));
+    }
+    return grams;
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+}
@@ -2,6 +2,9 @@ package com.appointment.service;
 
 import com.appointment.dto.AppointmentRequest;
 import com.appointment.dto.AppointmentResponse;
+import com.appointment.dto.BatchBookingResult;
+import com.appointment.dto.CursorPage;
+import com.appointment.dto.SearchPage;
 import com.appointment.model.Appointment;
 
 import java.time.LocalDateTime;
@@ -15,10 +18,14 @@ public interface AppointmentService {
 
   List<AppointmentResponse> getAllAppointments();
 
+  CursorPage<AppointmentResponse> getAppointmentsPage(String cursor, Integer limit);
+
   AppointmentResponse getAppointmentById(Long id);
 
   AppointmentResponse createAppointment(AppointmentRequest request);
 
+  List<BatchBookingResult> createAppointments(List<AppointmentRequest> requests);
+
   AppointmentResponse updateAppointment(Long id, AppointmentRequest request);
 
   void deleteAppointment(Long id);
@@ -27,15 +34,31 @@ public interface AppointmentService {
 
   List<AppointmentResponse> getAppointmentsByProvider(Long providerId);
 
+  /**
+   * Version of getAppointmentsByCustomer, computed with one aggregate query
+   * Changes whenever the list would change, so it can serve as ETag
+   */
+  String getCustomerAppointmentsVersion(Long customerId);
+
+  /**
+   * Version of getAppointmentsByProvider, computed with one aggregate query
+   */
+  String getProviderAppointmentsVersion(Long providerId);
+
   List<AppointmentResponse> getUpcomingAppointmentsByCustomer(Long customerId);
 
   List<AppointmentResponse> getAppointmentsByStatus(Appointment.Status status);
 
   AppointmentResponse updateAppointmentStatus(Long id, Appointment.Status status);
 
-  List<AppointmentResponse> searchAppointments(String keyword);
+  SearchPage<AppointmentResponse> searchAppointments(String keyword, Integer page, Integer size);
 
   List<AppointmentResponse> getAppointmentsByDateRange(LocalDateTime start, LocalDateTime end);
 
   Map<String, Object> getAppointmentStatistics();
+
+  /**
+   * Version of getAppointmentStatistics, counted in memory from committed changes
+   */
+  String getAppointmentStatisticsVersion();
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.appointment.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for appointment statistics
+ * All figures are computed with aggregate queries, no appointment is loaded into memory
+ */
+public interface AppointmentStatisticsService {
+
+  /**
+   * Granularity of the timeline breakdown
+   */
+  enum TimeBucket {
+    DAY,
+    WEEK,
+    MONTH
+  }
+
+  Map<String, Object> getStatusSummary();
+
+  Map<String, Map<String, Long>> getStatisticsByServiceType();
+
+  List<Map<String, Object>> getStatisticsByProvider();
+
+  List<Map<String, Object>> getStatisticsByTimeBucket(LocalDateTime start, LocalDateTime end, TimeBucket bucket);
+}
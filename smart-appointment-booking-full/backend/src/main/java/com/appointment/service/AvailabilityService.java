@@ -0,0 +1,14 @@
+package com.appointment.service;
+
+import com.appointment.dto.ProviderAvailability;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for provider availability
+ * Free slots are read from the in-memory slot calendar, not from the database
+ */
+public interface AvailabilityService {
+
+  ProviderAvailability getAvailability(Long providerId, LocalDate from, LocalDate to);
+}
@@ -2,8 +2,11 @@ package com.appointment.service;
 
 import com.appointment.dto.UserRequest;
 import com.appointment.dto.UserResponse;
+import com.appointment.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for User operations
@@ -14,15 +17,26 @@ public interface UserService {
 
   UserResponse getUserById(Long id);
 
+  Map<Long, UserResponse> getUsersByIds(Collection<Long> ids);
+
   UserResponse createUser(UserRequest request);
 
+  List<UserResponse> createUsers(List<UserRequest> requests);
+
   UserResponse updateUser(Long id, UserRequest request);
 
   void deleteUser(Long id);
 
   List<UserResponse> getAllServiceProviders();
 
+  /**
+   * Version of getAllServiceProviders; changes whenever the list would change, so it can serve as ETag
+   */
+  String getServiceProvidersVersion();
+
   UserResponse getUserByEmail(String email);
 
   List<UserResponse> searchUsersByName(String name);
+
+  List<UserResponse> autocompleteUsers(String prefix, Integer limit, User.Role role);
 }
\ No newline at end of file
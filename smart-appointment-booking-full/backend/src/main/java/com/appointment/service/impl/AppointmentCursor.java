@@ -0,0 +1,84 @@
+package com.appointment.service.impl;
+
+import com.appointment.model.Appointment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the appointment listing order used for keyset pagination
+ * Encoded as an opaque URL-safe token so clients never depend on its contents
+ */
+final class AppointmentCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime appointmentDateTime;
+  private final Long customerId;
+  private final Long id;
+
+  private AppointmentCursor(LocalDateTime appointmentDateTime, Long customerId, Long id) {
+    this.appointmentDateTime = appointmentDateTime;
+    this.customerId = customerId;
+    this.id = id;
+  }
+
+  /**
+   * Create a cursor pointing right after the given appointment
+   * @param appointment Last appointment of a page
+   * @return Cursor
+   */
+  static AppointmentCursor after(Appointment appointment) {
+    return new AppointmentCursor(
+      appointment.getAppointmentDateTime(),
+      appointment.getCustomer().getId(),
+      appointment.getId()
+    );
+  }
+
+  /**
+   * Decode a token previously produced by {@link #encode()}
+   * @param token Opaque cursor token
+   * @return Cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  static AppointmentCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+      }
+      return new AppointmentCursor(
+        LocalDateTime.parse(parts[0]),
+        Long.valueOf(parts[1]),
+        Long.valueOf(parts[2])
+      );
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+
+  /**
+   * Encode this cursor as an opaque URL-safe token
+   * @return Cursor token
+   */
+  String encode() {
+    String raw = appointmentDateTime + SEPARATOR + customerId + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  LocalDateTime getAppointmentDateTime() {
+    return appointmentDateTime;
+  }
+
+  Long getCustomerId() {
+    return customerId;
+  }
+
+  Long getId() {
+    return id;
+  }
+}
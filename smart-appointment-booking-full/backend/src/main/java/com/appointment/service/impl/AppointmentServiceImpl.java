@@ -1,54 +1,118 @@
 package com.appointment.service.impl;
 
+import com.appointment.booking.BookingIntervalIndex;
+import com.appointment.booking.BookingMetrics;
+import com.appointment.booking.ProviderLockStripes;
+import com.appointment.directory.ProviderDirectory;
 import com.appointment.dto.AppointmentRequest;
 import com.appointment.dto.AppointmentResponse;
+import com.appointment.dto.BatchBookingResult;
+import com.appointment.dto.CursorPage;
+import com.appointment.dto.SearchPage;
 import com.appointment.exception.AppointmentException;
+import com.appointment.event.AppointmentChangedEvent;
 import com.appointment.exception.ResourceNotFoundException;
 import com.appointment.model.Appointment;
 import com.appointment.model.User;
 import com.appointment.repository.AppointmentRepository;
 import com.appointment.repository.UserRepository;
+import com.appointment.search.AppointmentSearchIndex;
 import com.appointment.service.AppointmentService;
+import com.appointment.service.AppointmentStatisticsService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.Comparator;
 
 /**
  * Implementation of AppointmentService
  */
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+  static final int DEFAULT_PAGE_SIZE = 50;
+  static final int MAX_PAGE_SIZE = 500;
+
   private final AppointmentRepository appointmentRepository;
   private final UserRepository userRepository;
+  private final ProviderDirectory providerDirectory;
+  private final AppointmentStatisticsService statisticsService;
+  private final BookingIntervalIndex bookingIndex;
+  private final ProviderLockStripes providerLocks;
+  private final BookingMetrics bookingMetrics;
+  private final AppointmentSearchIndex searchIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AppointmentStatisticsVersion statisticsVersion;
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getAllAppointments() {
-    log.info("Fetching all appointments");
-    // Default sorting: most recent appointment first, then by created user
-    return appointmentRepository.findAll().stream()
-      .sorted(Comparator.comparing(Appointment::getAppointmentDateTime).reversed()
-        .thenComparing(a -> a.getCustomer().getId(), Comparator.reverseOrder()))
+    log.debug("Fetching all appointments");
+    // Default sorting: most recent appointment first, then by created user (done by the database)
+    return appointmentRepository.findAllOrderedForListing().stream()
+      .map(this::convertToResponse)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<AppointmentResponse> getAppointmentsPage(String cursor, Integer limit) {
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    log.debug("Fetching appointments page of size {} after cursor: {}", pageSize, cursor);
+
+    // Fetch one extra row to know whether another page follows
+    PageRequest window = PageRequest.of(0, pageSize + 1);
+    List<Appointment> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = appointmentRepository.findFirstPageForListing(window);
+    } else {
+      AppointmentCursor position = AppointmentCursor.decode(cursor);
+      rows = appointmentRepository.findNextPageForListing(
+        position.getAppointmentDateTime(),
+        position.getCustomerId(),
+        position.getId(),
+        window
+      );
+    }
+
+    boolean hasMore = rows.size() > pageSize;
+    List<Appointment> page = hasMore ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasMore ? AppointmentCursor.after(page.get(page.size() - 1)).encode() : null;
+
+    List<AppointmentResponse> items = page.stream()
       .map(this::convertToResponse)
       .collect(Collectors.toList());
+    return new CursorPage<>(items, nextCursor);
   }
 
   @Override
   @Transactional(readOnly = true)
   public AppointmentResponse getAppointmentById(Long id) {
-    log.info("Fetching appointment with id: {}", id);
+    log.debug("Fetching appointment with id: {}", id);
     Appointment appointment = appointmentRepository.findById(id)
       .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
     return convertToResponse(appointment);
@@ -56,55 +120,164 @@ public class AppointmentServiceImpl implements AppointmentService {
 
   @Override
   public AppointmentResponse createAppointment(AppointmentRequest request) {
-    log.info("Creating new appointment for customer: {}", request.getCustomerId());
+    log.debug("Creating new appointment for customer: {}", request.getCustomerId());
 
     // Validate customer exists
     User customer = userRepository.findById(request.getCustomerId())
       .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
 
-    // Validate service provider exists
-    User provider = userRepository.findById(request.getServiceProviderId())
-      .orElseThrow(() -> new ResourceNotFoundException("Service provider not found"));
-
-    // Validate provider is actually a service provider
-    if (!provider.isServiceProvider()) {
-      throw new AppointmentException("Selected user is not a service provider");
-    }
+    // Validate service provider exists and is an active service provider (from the provider directory)
+    ProviderDirectory.Provider provider = providerDirectory.findProvider(request.getServiceProviderId())
+      .orElseThrow(() -> {
+        if (!userRepository.existsById(request.getServiceProviderId())) {
+          return new ResourceNotFoundException("Service provider not found");
+        }
+        bookingMetrics.rejected(BookingMetrics.Reason.NOT_A_PROVIDER);
+        return new AppointmentException("Selected user is not a service provider");
+      });
 
     // Validate appointment is in future
     if (request.getAppointmentDateTime().isBefore(LocalDateTime.now())) {
+      bookingMetrics.rejected(BookingMetrics.Reason.PAST_DATE);
       throw new AppointmentException("Appointment must be scheduled for a future date");
     }
 
-    // Check for conflicting appointments (optional - prevent double booking)
-    List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
-      provider.getId(),
-      request.getAppointmentDateTime().minusHours(1),
-      request.getAppointmentDateTime().plusHours(1)
-    );
+    // Serialize bookings of this provider until commit, so two requests cannot both pass the conflict check
+    try {
+      providerLocks.lockUntilTransactionEnds(provider.id());
+    } catch (IllegalStateException e) {
+      bookingMetrics.rejected(BookingMetrics.Reason.LOCK_TIMEOUT);
+      throw e;
+    }
 
-    if (!conflicts.isEmpty()) {
+    // Check for conflicting appointments (prevent double booking) against the in-memory booking index
+    if (bookingIndex.hasConflict(provider.id(), request.getAppointmentDateTime())) {
+      bookingMetrics.rejected(BookingMetrics.Reason.CONFLICT);
       throw new AppointmentException("Service provider already has an appointment at this time");
     }
 
     // Create appointment
     Appointment appointment = new Appointment();
     appointment.setCustomer(customer);
-    appointment.setServiceProvider(provider);
+    // Reference only, the provider row is not loaded
+    appointment.setServiceProvider(userRepository.getReferenceById(provider.id()));
     appointment.setServiceType(request.getServiceType());
     appointment.setAppointmentDateTime(request.getAppointmentDateTime());
     appointment.setNotes(request.getNotes());
     appointment.setStatus(Appointment.Status.PENDING);
 
     Appointment savedAppointment = appointmentRepository.save(appointment);
+    eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.CREATED, savedAppointment));
     log.info("Appointment created successfully with id: {}", savedAppointment.getId());
 
-    return convertToResponse(savedAppointment);
+    // Provider details come from the directory so the referenced provider row is never loaded
+    return new AppointmentResponse(
+      savedAppointment.getId(),
+      customer.getId(),
+      customer.getName(),
+      customer.getEmail(),
+      provider.id(),
+      provider.name(),
+      provider.email(),
+      savedAppointment.getServiceType(),
+      savedAppointment.getAppointmentDateTime(),
+      savedAppointment.getNotes(),
+      savedAppointment.getStatus(),
+      savedAppointment.getCreatedAt(),
+      savedAppointment.getUpdatedAt()
+    );
+  }
+
+  @Override
+  public List<BatchBookingResult> createAppointments(List<AppointmentRequest> requests) {
+    log.debug("Booking {} appointments in one batch", requests.size());
+
+    // Validate all customers and providers with a single lookup
+    Set<Long> userIds = new HashSet<>();
+    for (AppointmentRequest request : requests) {
+      userIds.add(request.getCustomerId());
+      userIds.add(request.getServiceProviderId());
+    }
+    Map<Long, User> users = userRepository.findAllById(userIds).stream()
+      .collect(Collectors.toMap(User::getId, Function.identity()));
+
+    BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+    Set<Long> providerIds = new HashSet<>();
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < requests.size(); i++) {
+      AppointmentRequest request = requests.get(i);
+      User provider = users.get(request.getServiceProviderId());
+      if (!users.containsKey(request.getCustomerId())) {
+        results[i] = BatchBookingResult.rejected(i, BatchBookingResult.Status.CUSTOMER_NOT_FOUND, "Customer not found");
+      } else if (provider == null) {
+        results[i] = BatchBookingResult.rejected(i, BatchBookingResult.Status.PROVIDER_NOT_FOUND, "Service provider not found");
+      } else if (provider.getRole() != User.Role.SERVICE_PROVIDER || !Boolean.TRUE.equals(provider.getActive())) {
+        bookingMetrics.rejected(BookingMetrics.Reason.NOT_A_PROVIDER);
+        results[i] = BatchBookingResult.rejected(i, BatchBookingResult.Status.NOT_A_PROVIDER, "Selected user is not a service provider");
+      } else if (request.getAppointmentDateTime().isBefore(now)) {
+        bookingMetrics.rejected(BookingMetrics.Reason.PAST_DATE);
+        results[i] = BatchBookingResult.rejected(i, BatchBookingResult.Status.PAST_DATE, "Appointment must be scheduled for a future date");
+      } else {
+        providerIds.add(provider.getId());
+      }
+    }
+
+    // Serialize with single bookings of the same providers until commit
+    try {
+      providerLocks.lockAllUntilTransactionEnds(providerIds);
+    } catch (IllegalStateException e) {
+      bookingMetrics.rejected(BookingMetrics.Reason.LOCK_TIMEOUT);
+      throw e;
+    }
+
+    // Check every slot against the booking index and against the slots accepted earlier in this batch
+    Duration conflictWindow = bookingIndex.getConflictWindow();
+    Map<Long, NavigableSet<LocalDateTime>> acceptedSlots = new HashMap<>();
+    List<Appointment> appointments = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      AppointmentRequest request = requests.get(i);
+      Long providerId = request.getServiceProviderId();
+      LocalDateTime start = request.getAppointmentDateTime();
+      NavigableSet<LocalDateTime> accepted = acceptedSlots.computeIfAbsent(providerId, id -> new TreeSet<>());
+      LocalDateTime nearest = accepted.ceiling(start.minus(conflictWindow));
+      if (bookingIndex.hasConflict(providerId, start) || (nearest != null && !nearest.isAfter(start.plus(conflictWindow)))) {
+        bookingMetrics.rejected(BookingMetrics.Reason.CONFLICT);
+        results[i] = BatchBookingResult.rejected(i, BatchBookingResult.Status.CONFLICT,
+          "Service provider already has an appointment at this time");
+        continue;
+      }
+      accepted.add(start);
+
+      Appointment appointment = new Appointment();
+      appointment.setCustomer(users.get(request.getCustomerId()));
+      appointment.setServiceProvider(users.get(providerId));
+      appointment.setServiceType(request.getServiceType());
+      appointment.setAppointmentDateTime(start);
+      appointment.setNotes(request.getNotes());
+      appointment.setStatus(Appointment.Status.PENDING);
+      appointments.add(appointment);
+      positions.add(i);
+    }
+
+    // Flushed here so the inserts go out as JDBC batches and failures surface before the results are built
+    List<Appointment> savedAppointments = appointmentRepository.saveAllAndFlush(appointments);
+    for (int j = 0; j < savedAppointments.size(); j++) {
+      Appointment saved = savedAppointments.get(j);
+      eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.CREATED, saved));
+      results[positions.get(j)] = BatchBookingResult.created(positions.get(j), convertToResponse(saved));
+    }
+    log.info("Batch booked {} of {} appointments", savedAppointments.size(), requests.size());
+
+    return Arrays.asList(results);
   }
 
   @Override
   public AppointmentResponse updateAppointment(Long id, AppointmentRequest request) {
-    log.info("Updating appointment with id: {}", id);
+    log.debug("Updating appointment with id: {}", id);
 
     Appointment appointment = appointmentRepository.findById(id)
       .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
@@ -116,8 +289,14 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     if (request.getAppointmentDateTime() != null) {
       if (request.getAppointmentDateTime().isBefore(LocalDateTime.now())) {
+        bookingMetrics.rejected(BookingMetrics.Reason.PAST_DATE);
         throw new AppointmentException("Appointment must be scheduled for a future date");
       }
+      // A reschedule of an active appointment must not land on another booking of the provider
+      if (!request.getAppointmentDateTime().equals(appointment.getAppointmentDateTime())
+        && appointment.getStatus() != Appointment.Status.CANCELLED) {
+        checkSlotAvailable(appointment, request.getAppointmentDateTime());
+      }
       appointment.setAppointmentDateTime(request.getAppointmentDateTime());
     }
 
@@ -126,6 +305,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     Appointment updatedAppointment = appointmentRepository.save(appointment);
+    eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.UPDATED, updatedAppointment));
     log.info("Appointment updated successfully");
 
     return convertToResponse(updatedAppointment);
@@ -133,78 +313,93 @@ public class AppointmentServiceImpl implements AppointmentService {
 
   @Override
   public void deleteAppointment(Long id) {
-    log.info("Deleting appointment with id: {}", id);
+    log.debug("Deleting appointment with id: {}", id);
 
-    if (!appointmentRepository.existsById(id)) {
-      throw new ResourceNotFoundException("Appointment not found with id: " + id);
-    }
+    Appointment appointment = appointmentRepository.findById(id)
+      .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
 
-    appointmentRepository.deleteById(id);
+    appointmentRepository.delete(appointment);
+    eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.DELETED, appointment));
     log.info("Appointment deleted successfully");
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getAppointmentsByCustomer(Long customerId) {
-    log.info("Fetching appointments for customer: {}", customerId);
+    log.debug("Fetching appointments for customer: {}", customerId);
 
     if (!userRepository.existsById(customerId)) {
       throw new ResourceNotFoundException("Customer not found");
     }
 
-    return appointmentRepository.findByCustomerId(customerId).stream()
-      .map(this::convertToResponse)
-      .collect(Collectors.toList());
+    return appointmentRepository.findResponsesByCustomerId(customerId);
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getAppointmentsByProvider(Long providerId) {
-    log.info("Fetching appointments for provider: {}", providerId);
+    log.debug("Fetching appointments for provider: {}", providerId);
 
     if (!userRepository.existsById(providerId)) {
       throw new ResourceNotFoundException("Provider not found");
     }
 
-    return appointmentRepository.findByServiceProviderId(providerId).stream()
-      .map(this::convertToResponse)
-      .collect(Collectors.toList());
+    return appointmentRepository.findResponsesByServiceProviderId(providerId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getCustomerAppointmentsVersion(Long customerId) {
+    if (!userRepository.existsById(customerId)) {
+      throw new ResourceNotFoundException("Customer not found");
+    }
+    return "c" + customerId + "-" + fingerprint(appointmentRepository.findVersionByCustomerId(customerId, LocalDateTime.now()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getProviderAppointmentsVersion(Long providerId) {
+    if (!userRepository.existsById(providerId)) {
+      throw new ResourceNotFoundException("Provider not found");
+    }
+    return "p" + providerId + "-" + fingerprint(appointmentRepository.findVersionByServiceProviderId(providerId, LocalDateTime.now()));
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getUpcomingAppointmentsByCustomer(Long customerId) {
-    log.info("Fetching upcoming appointments for customer: {}", customerId);
+    log.debug("Fetching upcoming appointments for customer: {}", customerId);
 
     if (!userRepository.existsById(customerId)) {
       throw new ResourceNotFoundException("Customer not found");
     }
 
-    return appointmentRepository.findUpcomingAppointmentsByCustomer(customerId, LocalDateTime.now())
-      .stream()
-      .map(this::convertToResponse)
-      .collect(Collectors.toList());
+    return appointmentRepository.findUpcomingResponsesByCustomer(customerId, LocalDateTime.now());
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getAppointmentsByStatus(Appointment.Status status) {
-    log.info("Fetching appointments with status: {}", status);
+    log.debug("Fetching appointments with status: {}", status);
 
-    return appointmentRepository.findByStatus(status).stream()
-      .map(this::convertToResponse)
-      .collect(Collectors.toList());
+    return appointmentRepository.findResponsesByStatus(status);
   }
 
   @Override
   public AppointmentResponse updateAppointmentStatus(Long id, Appointment.Status status) {
-    log.info("Updating appointment {} status to: {}", id, status);
+    log.debug("Updating appointment {} status to: {}", id, status);
 
     Appointment appointment = appointmentRepository.findById(id)
       .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
 
+    // Reactivating a cancelled appointment takes its slot again, which may have been booked meanwhile
+    if (appointment.getStatus() == Appointment.Status.CANCELLED && status != Appointment.Status.CANCELLED) {
+      checkSlotAvailable(appointment, appointment.getAppointmentDateTime());
+    }
+
     appointment.setStatus(status);
     Appointment updatedAppointment = appointmentRepository.save(appointment);
+    eventPublisher.publishEvent(AppointmentChangedEvent.of(AppointmentChangedEvent.Type.STATUS_CHANGED, updatedAppointment));
 
     log.info("Status updated successfully");
     return convertToResponse(updatedAppointment);
@@ -212,44 +407,80 @@ public class AppointmentServiceImpl implements AppointmentService {
 
   @Override
   @Transactional(readOnly = true)
-  public List<AppointmentResponse> searchAppointments(String keyword) {
-    log.info("Searching appointments with keyword: {}", keyword);
+  public SearchPage<AppointmentResponse> searchAppointments(String keyword, Integer page, Integer size) {
+    int pageNumber = page == null ? 0 : Math.max(0, page);
+    int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    log.debug("Searching appointments with keyword: {} (page {}, size {})", keyword, pageNumber, pageSize);
+
+    // Rank in the in-memory search index, then load only the rows of the requested page
+    AppointmentSearchIndex.Result result = searchIndex.search(keyword);
+    List<Long> pageIds = result.hits().stream()
+      .skip((long) pageNumber * pageSize)
+      .limit(pageSize)
+      .map(AppointmentSearchIndex.Hit::appointmentId)
+      .collect(Collectors.toList());
+    if (pageIds.isEmpty()) {
+      return new SearchPage<>(List.of(), result.hits().size(), result.capped());
+    }
 
-    return appointmentRepository.searchAppointments(keyword).stream()
-      .map(this::convertToResponse)
+    Map<Long, AppointmentResponse> rows = appointmentRepository.findResponsesByIds(pageIds).stream()
+      .collect(Collectors.toMap(AppointmentResponse::getId, Function.identity()));
+    List<AppointmentResponse> items = pageIds.stream()
+      .map(rows::get)
+      .filter(Objects::nonNull)
       .collect(Collectors.toList());
+    // Rows removed in bulk (e.g. by the cleanup job) are dropped from the index when first hit
+    pageIds.stream().filter(id -> !rows.containsKey(id)).forEach(searchIndex::remove);
+    return new SearchPage<>(items, result.hits().size(), result.capped());
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<AppointmentResponse> getAppointmentsByDateRange(LocalDateTime start, LocalDateTime end) {
-    log.info("Fetching appointments between {} and {}", start, end);
+    log.debug("Fetching appointments between {} and {}", start, end);
 
-    return appointmentRepository.findByAppointmentDateTimeBetween(start, end).stream()
-      .map(this::convertToResponse)
-      .collect(Collectors.toList());
+    return appointmentRepository.findResponsesByDateRange(start, end);
   }
 
   @Override
   @Transactional(readOnly = true)
   public Map<String, Object> getAppointmentStatistics() {
-    log.info("Fetching appointment statistics");
-
-    Map<String, Object> stats = new HashMap<>();
+    return statisticsService.getStatusSummary();
+  }
 
-    long total = appointmentRepository.count();
-    long pending = appointmentRepository.findByStatus(Appointment.Status.PENDING).size();
-    long confirmed = appointmentRepository.findByStatus(Appointment.Status.CONFIRMED).size();
-    long completed = appointmentRepository.findByStatus(Appointment.Status.COMPLETED).size();
-    long cancelled = appointmentRepository.findByStatus(Appointment.Status.CANCELLED).size();
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public String getAppointmentStatisticsVersion() {
+    // Counted in memory from committed changes, no database access
+    return statisticsVersion.get();
+  }
 
-    stats.put("total", total);
-    stats.put("pending", pending);
-    stats.put("confirmed", confirmed);
-    stats.put("completed", completed);
-    stats.put("cancelled", cancelled);
+  // Helper method to reject an existing appointment taking a slot blocked by another active booking;
+  // holds the provider lock until commit like new bookings, so a concurrent booking cannot take the slot
+  private void checkSlotAvailable(Appointment appointment, LocalDateTime appointmentDateTime) {
+    Long providerId = appointment.getServiceProvider().getId();
+    try {
+      providerLocks.lockUntilTransactionEnds(providerId);
+    } catch (IllegalStateException e) {
+      bookingMetrics.rejected(BookingMetrics.Reason.LOCK_TIMEOUT);
+      throw e;
+    }
+    if (bookingIndex.hasConflict(providerId, appointmentDateTime, appointment.getId())) {
+      bookingMetrics.rejected(BookingMetrics.Reason.CONFLICT);
+      throw new AppointmentException("Service provider already has an appointment at this time");
+    }
+  }
 
-    return stats;
+  // Helper method to encode an aggregate version row compactly (counts and timestamps in base 36)
+  private String fingerprint(List<Object[]> rows) {
+    return Arrays.stream(rows.get(0))
+      .map(value -> {
+        if (value instanceof LocalDateTime time) {
+          return Long.toString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000, 36);
+        }
+        return value == null ? "0" : Long.toString(((Number) value).longValue(), 36);
+      })
+      .collect(Collectors.joining("."));
   }
 
   // Helper method to convert Entity to Response DTO
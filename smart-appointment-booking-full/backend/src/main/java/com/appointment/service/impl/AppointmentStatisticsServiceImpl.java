@@ -0,0 +1,144 @@
+package com.appointment.service.impl;
+
+import com.appointment.exception.AppointmentException;
+import com.appointment.model.Appointment;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.service.AppointmentStatisticsService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of AppointmentStatisticsService
+ * Every breakdown is a single GROUP BY query returning one row per (group, status)
+ */
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AppointmentStatisticsServiceImpl implements AppointmentStatisticsService {
+
+  private final AppointmentRepository appointmentRepository;
+
+  @Override
+  public Map<String, Object> getStatusSummary() {
+    log.debug("Fetching appointment status summary");
+
+    Map<String, Long> counts = emptyCounts();
+    for (Object[] row : appointmentRepository.countGroupedByStatus()) {
+      addCount(counts, (Appointment.Status) row[0], (Long) row[1]);
+    }
+    return new LinkedHashMap<>(counts);
+  }
+
+  @Override
+  public Map<String, Map<String, Long>> getStatisticsByServiceType() {
+    log.debug("Fetching appointment statistics by service type");
+
+    Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+    for (Object[] row : appointmentRepository.countGroupedByServiceTypeAndStatus()) {
+      Appointment.ServiceType serviceType = (Appointment.ServiceType) row[0];
+      Map<String, Long> counts = stats.computeIfAbsent(serviceType.name(), key -> emptyCounts());
+      addCount(counts, (Appointment.Status) row[1], (Long) row[2]);
+    }
+    return stats;
+  }
+
+  @Override
+  public List<Map<String, Object>> getStatisticsByProvider() {
+    log.debug("Fetching appointment statistics by provider");
+
+    Map<Long, Map<String, Object>> stats = new TreeMap<>();
+    for (Object[] row : appointmentRepository.countGroupedByProviderAndStatus()) {
+      Long providerId = (Long) row[0];
+      Map<String, Object> entry = stats.computeIfAbsent(providerId, id -> {
+        Map<String, Object> provider = new LinkedHashMap<>();
+        provider.put("providerId", id);
+        provider.put("providerName", row[1]);
+        provider.put("counts", emptyCounts());
+        return provider;
+      });
+      @SuppressWarnings("unchecked")
+      Map<String, Long> counts = (Map<String, Long>) entry.get("counts");
+      addCount(counts, (Appointment.Status) row[2], (Long) row[3]);
+    }
+    return new ArrayList<>(stats.values());
+  }
+
+  @Override
+  public List<Map<String, Object>> getStatisticsByTimeBucket(LocalDateTime start, LocalDateTime end, TimeBucket bucket) {
+    log.debug("Fetching appointment statistics per {} between {} and {}", bucket, start, end);
+
+    if (!end.isAfter(start)) {
+      throw new AppointmentException("End of range must be after start of range");
+    }
+
+    // Days are aggregated by the database; weeks and months are folded from at most one row per day and status
+    Map<LocalDate, Map<String, Long>> buckets = new TreeMap<>();
+    for (Object[] row : appointmentRepository.countGroupedByDayAndStatus(start, end)) {
+      LocalDate bucketStart = bucketStart((LocalDate) row[0], bucket);
+      Map<String, Long> counts = buckets.computeIfAbsent(bucketStart, day -> emptyCounts());
+      addCount(counts, (Appointment.Status) row[1], (Long) row[2]);
+    }
+
+    List<Map<String, Object>> timeline = new ArrayList<>();
+    buckets.forEach((bucketStart, counts) -> {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("bucketStart", bucketStart.toString());
+      entry.put("counts", counts);
+      timeline.add(entry);
+    });
+    return timeline;
+  }
+
+  // Helper method to create a counts map with a zero entry for the total and every status
+  private Map<String, Long> emptyCounts() {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    counts.put("total", 0L);
+    for (Appointment.Status status : Appointment.Status.values()) {
+      counts.put(statusKey(status), 0L);
+    }
+    return counts;
+  }
+
+  // Helper method to add a grouped count to both its status and the total
+  private void addCount(Map<String, Long> counts, Appointment.Status status, Long count) {
+    counts.merge(statusKey(status), count, Long::sum);
+    counts.merge("total", count, Long::sum);
+  }
+
+  // Helper method to convert a status to its JSON key (e.g. NO_SHOW -> noShow)
+  private String statusKey(Appointment.Status status) {
+    String[] words = status.name().toLowerCase().split("_");
+    StringBuilder key = new StringBuilder(words[0]);
+    for (int i = 1; i < words.length; i++) {
+      key.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+    }
+    return key.toString();
+  }
+
+  // Helper method to find the first day of the bucket containing the given day
+  private LocalDate bucketStart(LocalDate day, TimeBucket bucket) {
+    switch (bucket) {
+      case WEEK:
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTH:
+        return day.withDayOfMonth(1);
+      default:
+        return day;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.appointment.service.impl;
+
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.event.AppointmentsPurgedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the appointment statistics, for conditional GETs of /stats
+ * Counted in memory from the committed appointment writes and cleanup deletes, so checking
+ * If-None-Match costs no query. Writes that bypass both events (e.g. SQL run by hand) are not
+ * seen until the next counted change.
+ */
+@Component
+public class AppointmentStatisticsVersion {
+
+  // Versions are counted per instance; the token keeps versions of different instances
+  // (or of one instance before a restart) from matching
+  private final String instanceToken = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Get the current version
+   * @return Version, changes with every committed appointment change
+   */
+  public String get() {
+    return "s" + instanceToken + "-" + Long.toString(version.get(), 36);
+  }
+
+  /**
+   * Count a committed appointment change
+   * @param event Appointment change
+   */
+  @TransactionalEventListener
+  public void onAppointmentChanged(AppointmentChangedEvent event) {
+    version.incrementAndGet();
+  }
+
+  /**
+   * Count a committed bulk delete of the cleanup job
+   * @param event Deleted chunk
+   */
+  @TransactionalEventListener
+  public void onAppointmentsPurged(AppointmentsPurgedEvent event) {
+    version.incrementAndGet();
+  }
+}
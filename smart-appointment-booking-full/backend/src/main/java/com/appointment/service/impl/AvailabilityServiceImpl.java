@@ -0,0 +1,65 @@
+package com.appointment.service.impl;
+
+import com.appointment.availability.ProviderSlotCalendar;
+import com.appointment.directory.ProviderDirectory;
+import com.appointment.dto.ProviderAvailability;
+import com.appointment.exception.ResourceNotFoundException;
+import com.appointment.service.AvailabilityService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of AvailabilityService
+ */
+@Service
+@Timed("service.method")
+@Slf4j
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+  private final ProviderSlotCalendar slotCalendar;
+  private final ProviderDirectory providerDirectory;
+  private final int maxDays;
+
+  public AvailabilityServiceImpl(ProviderSlotCalendar slotCalendar,
+                                 ProviderDirectory providerDirectory,
+                                 @Value("${availability.max-days:31}") int maxDays) {
+    this.slotCalendar = slotCalendar;
+    this.providerDirectory = providerDirectory;
+    this.maxDays = maxDays;
+  }
+
+  @Override
+  public ProviderAvailability getAvailability(Long providerId, LocalDate from, LocalDate to) {
+    log.debug("Fetching availability of provider {} from {} to {}", providerId, from, to);
+
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+      throw new IllegalArgumentException("Availability can be requested for at most " + maxDays + " days");
+    }
+    if (providerDirectory.findProvider(providerId).isEmpty()) {
+      throw new ResourceNotFoundException("Service provider not found");
+    }
+
+    // Slots in the past cannot be booked
+    LocalDateTime now = LocalDateTime.now();
+    List<ProviderAvailability.DayAvailability> days = new ArrayList<>();
+    for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+      days.add(new ProviderAvailability.DayAvailability(date, slotCalendar.getFreeSlots(providerId, date, now)));
+    }
+    LocalDateTime searchFrom = from.atStartOfDay().isAfter(now) ? from.atStartOfDay() : now;
+    LocalDateTime nextFreeSlot = slotCalendar
+      .findFirstFreeSlot(providerId, searchFrom, searchFrom.toLocalDate().plusDays(maxDays - 1))
+      .orElse(null);
+    return new ProviderAvailability(providerId, slotCalendar.getSlotMinutes(), days, nextFreeSlot);
+  }
+}
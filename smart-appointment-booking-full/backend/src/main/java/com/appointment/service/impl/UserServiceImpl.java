@@ -1,18 +1,31 @@
 package com.appointment.service.impl;
 
+import com.appointment.directory.ProviderDirectory;
+import com.appointment.directory.UserAutocompleteIndex;
 import com.appointment.dto.UserRequest;
 import com.appointment.dto.UserResponse;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.event.UsersCreatedEvent;
 import com.appointment.exception.AppointmentException;
 import com.appointment.exception.ResourceNotFoundException;
 import com.appointment.model.User;
 import com.appointment.repository.UserRepository;
 import com.appointment.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Comparator;
 
@@ -20,17 +33,27 @@ import java.util.Comparator;
  * Implementation of UserService
  */
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class UserServiceImpl implements UserService {
 
+  static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+  static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
   private final UserRepository userRepository;
+  private final ProviderDirectory providerDirectory;
+  private final UserAutocompleteIndex autocompleteIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  // Directory versions are counted per instance; the token keeps versions of different instances
+  // (or of one instance before a restart) from matching
+  private final String instanceToken = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
 
   @Override
   @Transactional(readOnly = true)
   public List<UserResponse> getAllUsers() {
-    log.info("Fetching all users");
+    log.debug("Fetching all users");
     // Default sorting: most recently created users first
     return userRepository.findAll().stream()
       .sorted(Comparator.comparing(User::getCreatedAt).reversed())
@@ -41,38 +64,67 @@ public class UserServiceImpl implements UserService {
   @Override
   @Transactional(readOnly = true)
   public UserResponse getUserById(Long id) {
-    log.info("Fetching user with id: {}", id);
+    log.debug("Fetching user with id: {}", id);
     User user = userRepository.findById(id)
       .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     return convertToResponse(user);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, UserResponse> getUsersByIds(Collection<Long> ids) {
+    log.debug("Fetching {} users by id", ids.size());
+    return userRepository.findAllById(ids).stream()
+      .map(this::convertToResponse)
+      .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+  }
+
   @Override
   public UserResponse createUser(UserRequest request) {
-    log.info("Creating new user with email: {}", request.getEmail());
+    log.debug("Creating new user with email: {}", request.getEmail());
 
     // Check if email already exists
     if (userRepository.existsByEmail(request.getEmail())) {
       throw new AppointmentException("Email already registered: " + request.getEmail());
     }
 
-    User user = new User();
-    user.setName(request.getName());
-    user.setEmail(request.getEmail());
-    user.setPassword(request.getPassword()); // In production, hash the password
-    user.setPhone(request.getPhone());
-    user.setRole(request.getRole() != null ? request.getRole() : User.Role.CUSTOMER);
-    user.setActive(true);
-
-    User savedUser = userRepository.save(user);
+    User savedUser = userRepository.save(toNewUser(request));
+    eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.CREATED, savedUser));
     log.info("User created successfully with id: {}", savedUser.getId());
 
     return convertToResponse(savedUser);
   }
 
+  @Override
+  public List<UserResponse> createUsers(List<UserRequest> requests) {
+    log.debug("Creating {} users in bulk", requests.size());
+
+    Set<String> emails = new HashSet<>();
+    for (UserRequest request : requests) {
+      if (!emails.add(request.getEmail())) {
+        throw new AppointmentException("Email listed more than once: " + request.getEmail());
+      }
+    }
+    // One lookup for the whole batch instead of an existsByEmail round trip per user
+    List<String> existing = userRepository.findExistingEmails(emails);
+    if (!existing.isEmpty()) {
+      throw new AppointmentException("Email already registered: " + String.join(", ", existing));
+    }
+
+    // Sequence ids are allocated up front, so the inserts are flushed as JDBC batches
+    List<User> savedUsers = userRepository.saveAll(requests.stream().map(this::toNewUser).toList());
+    // One event for the batch, so the in-memory indexes are updated once instead of once per user
+    eventPublisher.publishEvent(UsersCreatedEvent.of(savedUsers));
+    log.info("{} users created successfully", savedUsers.size());
+
+    return savedUsers.stream()
+      .map(this::convertToResponse)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public UserResponse updateUser(Long id, UserRequest request) {
-    log.info("Updating user with id: {}", id);
+    log.debug("Updating user with id: {}", id);
 
     User user = userRepository.findById(id)
       .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -102,6 +154,7 @@ public class UserServiceImpl implements UserService {
     }
 
     User updatedUser = userRepository.save(user);
+    eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.UPDATED, updatedUser));
     log.info("User updated successfully");
 
     return convertToResponse(updatedUser);
@@ -109,29 +162,36 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public void deleteUser(Long id) {
-    log.info("Deleting user with id: {}", id);
+    log.debug("Deleting user with id: {}", id);
 
-    if (!userRepository.existsById(id)) {
-      throw new ResourceNotFoundException("User not found with id: " + id);
-    }
+    User user = userRepository.findById(id)
+      .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-    userRepository.deleteById(id);
+    userRepository.delete(user);
+    eventPublisher.publishEvent(UserChangedEvent.of(UserChangedEvent.Type.DELETED, user));
     log.info("User deleted successfully");
   }
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public List<UserResponse> getAllServiceProviders() {
-    log.info("Fetching all service providers");
-    return userRepository.findAllActiveServiceProviders().stream()
-      .map(this::convertToResponse)
+    log.debug("Fetching all service providers");
+    // Served from the in-memory provider directory, no database access
+    return providerDirectory.getProviders().stream()
+      .map(ProviderDirectory.Provider::toResponse)
       .collect(Collectors.toList());
   }
 
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public String getServiceProvidersVersion() {
+    return "d" + instanceToken + "-" + providerDirectory.getVersion();
+  }
+
   @Override
   @Transactional(readOnly = true)
   public UserResponse getUserByEmail(String email) {
-    log.info("Fetching user with email: {}", email);
+    log.debug("Fetching user with email: {}", email);
     User user = userRepository.findByEmail(email)
       .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     return convertToResponse(user);
@@ -140,12 +200,33 @@ public class UserServiceImpl implements UserService {
   @Override
   @Transactional(readOnly = true)
   public List<UserResponse> searchUsersByName(String name) {
-    log.info("Searching users with name: {}", name);
+    log.debug("Searching users with name: {}", name);
     return userRepository.findByNameContainingIgnoreCase(name).stream()
       .map(this::convertToResponse)
       .collect(Collectors.toList());
   }
 
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<UserResponse> autocompleteUsers(String prefix, Integer limit, User.Role role) {
+    int size = limit == null ? DEFAULT_AUTOCOMPLETE_LIMIT : Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_LIMIT));
+    log.debug("Autocompleting users with prefix: {}", prefix);
+    // Served from the in-memory prefix index, no database access
+    return autocompleteIndex.complete(prefix, size, role);
+  }
+
+  // Helper method to build a new active user from a request
+  private User toNewUser(UserRequest request) {
+    User user = new User();
+    user.setName(request.getName());
+    user.setEmail(request.getEmail());
+    user.setPassword(request.getPassword()); // In production, hash the password
+    user.setPhone(request.getPhone());
+    user.setRole(request.getRole() != null ? request.getRole() : User.Role.CUSTOMER);
+    user.setActive(true);
+    return user;
+  }
+
   // Helper method to convert Entity to Response DTO
   private UserResponse convertToResponse(User user) {
     UserResponse response = new UserResponse();
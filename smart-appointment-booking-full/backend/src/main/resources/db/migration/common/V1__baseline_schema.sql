@@ -0,0 +1,36 @@
+-- Baseline: users and appointments as previously created by Hibernate (ddl-auto=update).
+-- Databases created that way are baselined at this version and continue with V2.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(15),
+    role VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_role CHECK (role IN ('CUSTOMER', 'SERVICE_PROVIDER', 'ADMIN'))
+);
+
+CREATE TABLE appointments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    customer_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_type VARCHAR(255) NOT NULL,
+    appointment_datetime TIMESTAMP(6) NOT NULL,
+    notes TEXT,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_appointments PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_customer FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT fk_appointments_provider FOREIGN KEY (provider_id) REFERENCES users (id),
+    CONSTRAINT ck_appointments_service_type CHECK (service_type IN
+        ('DOCTOR', 'DENTIST', 'BARBER', 'SALON', 'CONSULTANT', 'THERAPIST', 'LAWYER', 'MECHANIC', 'OTHER')),
+    CONSTRAINT ck_appointments_status CHECK (status IN
+        ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'))
+);
@@ -0,0 +1,25 @@
+-- Run history of maintenance jobs and cluster-wide job leases.
+-- IF NOT EXISTS: baselined databases may already have them from ddl-auto=update.
+
+CREATE TABLE IF NOT EXISTS maintenance_job_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    job_name VARCHAR(100) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    cutoff TIMESTAMP(6) NOT NULL,
+    last_processed_id BIGINT NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    chunks_processed INTEGER NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6),
+    error_message VARCHAR(1000),
+    CONSTRAINT pk_maintenance_job_runs PRIMARY KEY (id),
+    CONSTRAINT ck_maintenance_job_runs_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    name VARCHAR(100) NOT NULL,
+    owner VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMP(6) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_job_leases PRIMARY KEY (name)
+);
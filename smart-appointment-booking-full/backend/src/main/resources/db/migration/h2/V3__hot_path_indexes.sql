@@ -0,0 +1,14 @@
+-- Indexes matched to the repository queries (H2 has no partial indexes; the PostgreSQL
+-- partial indexes on PENDING / non-CANCELLED rows are covered by the status and listing indexes).
+
+CREATE INDEX idx_appointments_customer_datetime ON appointments (customer_id, appointment_datetime);
+
+CREATE INDEX idx_appointments_provider_datetime ON appointments (provider_id, appointment_datetime);
+
+CREATE INDEX idx_appointments_status_datetime ON appointments (status, appointment_datetime);
+
+CREATE INDEX idx_appointments_listing ON appointments (appointment_datetime DESC, customer_id DESC, id DESC);
+
+CREATE INDEX idx_users_active_providers ON users (role, active);
+
+CREATE INDEX idx_maintenance_job_runs_job ON maintenance_job_runs (job_name, id);
@@ -0,0 +1,11 @@
+-- Ids of users and appointments come from sequences instead of identity columns, so Hibernate can
+-- reserve ids in blocks (pooled optimizer, allocationSize = INCREMENT BY = 50) and batch inserts.
+-- H2 databases are always created empty, so the sequences start at the first block.
+
+CREATE SEQUENCE users_seq START WITH 50 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE appointments_seq START WITH 50 INCREMENT BY 50;
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE appointments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR appointments_seq;
@@ -0,0 +1,28 @@
+-- Indexes matched to the repository queries (PostgreSQL, with partial indexes).
+
+-- Customer history and upcoming appointments: customer_id = ? [AND appointment_datetime > / < ?]
+CREATE INDEX idx_appointments_customer_datetime ON appointments (customer_id, appointment_datetime);
+
+-- Provider schedule, conflicts and today's appointments: provider_id = ? AND appointment_datetime BETWEEN ? AND ?
+CREATE INDEX idx_appointments_provider_datetime ON appointments (provider_id, appointment_datetime);
+
+-- Status filters: status = ? [AND appointment_datetime < ?]
+CREATE INDEX idx_appointments_status_datetime ON appointments (status, appointment_datetime);
+
+-- Listing order and keyset pagination: ORDER BY appointment_datetime DESC, customer_id DESC, id DESC; date ranges
+CREATE INDEX idx_appointments_listing ON appointments (appointment_datetime DESC, customer_id DESC, id DESC);
+
+-- Booking index rebuild: status <> 'CANCELLED' AND appointment_datetime >= ?
+CREATE INDEX idx_appointments_active_datetime ON appointments (appointment_datetime)
+    WHERE status <> 'CANCELLED';
+
+-- Cleanup job chunks: status = 'PENDING' AND appointment_datetime < ? AND id > ? ORDER BY id
+CREATE INDEX idx_appointments_pending_id ON appointments (id, appointment_datetime)
+    WHERE status = 'PENDING';
+
+-- Provider directory: role = 'SERVICE_PROVIDER' AND active = true
+CREATE INDEX idx_users_active_providers ON users (id)
+    WHERE role = 'SERVICE_PROVIDER' AND active = true;
+
+-- Latest runs of a job: job_name = ? ORDER BY id DESC
+CREATE INDEX idx_maintenance_job_runs_job ON maintenance_job_runs (job_name, id);
@@ -0,0 +1,17 @@
+-- Ids of users and appointments come from sequences instead of identity columns, so Hibernate can
+-- reserve ids in blocks (pooled optimizer, allocationSize = INCREMENT BY = 50) and batch inserts.
+-- The pooled optimizer treats a sequence value as the upper end of its block, so each sequence
+-- starts one block above the highest existing id.
+
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- Rows inserted outside Hibernate take a whole block, which keeps them clear of Hibernate's ids
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+CREATE SEQUENCE appointments_seq INCREMENT BY 50;
+SELECT setval('appointments_seq', COALESCE((SELECT MAX(id) FROM appointments), 0) + 50, false);
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE appointments ALTER COLUMN id SET DEFAULT nextval('appointments_seq');
+ALTER SEQUENCE appointments_seq OWNED BY appointments.id;
@@ -0,0 +1,186 @@
+package com.appointment;
+
+import com.appointment.model.Appointment;
+import com.appointment.model.JobLease;
+import com.appointment.model.MaintenanceJobRun;
+import com.appointment.model.User;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.repository.JobLeaseRepository;
+import com.appointment.repository.MaintenanceJobRunRepository;
+import com.appointment.repository.UserRepository;
+import com.appointment.scheduler.AppointmentCleanupJob;
+import com.appointment.scheduler.JobLeaseManager;
+import com.appointment.service.impl.AppointmentStatisticsVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AppointmentCleanupJobIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MaintenanceJobRunRepository jobRunRepository;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AppointmentStatisticsVersion statisticsVersion;
+
+    private AppointmentCleanupJob job;
+    private User customer;
+    private User provider;
+
+    @BeforeEach
+    void setUp() {
+        jobRunRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        userRepository.deleteAll();
+        customer = saveUser("Cleanup Customer", "cleanup.customer@example.com", User.Role.CUSTOMER);
+        provider = saveUser("Cleanup Provider", "cleanup.provider@example.com", User.Role.SERVICE_PROVIDER);
+        job = new AppointmentCleanupJob(appointmentRepository, jobRunRepository, transactionManager,
+            eventPublisher, 2, 0, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRemovesExpiredPendingAppointmentsInChunks() {
+        for (int i = 1; i <= 5; i++) {
+            insertAppointment(LocalDateTime.now().minusDays(i), "PENDING");
+        }
+        insertAppointment(LocalDateTime.now().minusDays(1), "CONFIRMED");
+        insertAppointment(LocalDateTime.now().plusDays(1), "PENDING");
+        String statsVersion = statisticsVersion.get();
+
+        MaintenanceJobRun run = job.run().orElseThrow();
+
+        assertEquals(MaintenanceJobRun.Status.COMPLETED, run.getStatus());
+        assertEquals(5L, run.getRowsProcessed());
+        assertEquals(3, run.getChunksProcessed());
+        assertNotNull(run.getFinishedAt());
+        assertEquals(2, appointmentRepository.count());
+        assertEquals(1, job.getRunHistory().size());
+        // The bulk deletes change the statistics, so their version changes too
+        assertNotEquals(statsVersion, statisticsVersion.get());
+    }
+
+    @Test
+    void testResumesInterruptedRunAfterLastProcessedId() {
+        long first = insertAppointment(LocalDateTime.now().minusDays(2), "PENDING");
+        insertAppointment(LocalDateTime.now().minusDays(1), "PENDING");
+
+        MaintenanceJobRun interrupted = new MaintenanceJobRun();
+        interrupted.setJobName(AppointmentCleanupJob.JOB_NAME);
+        interrupted.setCutoff(LocalDateTime.now());
+        interrupted.setStartedAt(LocalDateTime.now().minusMinutes(5));
+        interrupted.setLastProcessedId(first);
+        interrupted.setRowsProcessed(10L);
+        interrupted.setChunksProcessed(5);
+        interrupted = jobRunRepository.save(interrupted);
+
+        MaintenanceJobRun run = job.run().orElseThrow();
+
+        assertEquals(interrupted.getId(), run.getId());
+        assertEquals(MaintenanceJobRun.Status.COMPLETED, run.getStatus());
+        assertEquals(11L, run.getRowsProcessed());
+        // The row at or before the resume point belongs to the interrupted part and is left to the next run
+        assertTrue(appointmentRepository.existsById(first));
+        assertEquals(1, appointmentRepository.count());
+
+        MaintenanceJobRun next = job.run().orElseThrow();
+        assertNotEquals(run.getId(), next.getId());
+        assertEquals(1L, next.getRowsProcessed());
+        assertEquals(0, appointmentRepository.count());
+    }
+
+    @Test
+    void testRenewsLeaseAfterEveryChunk() {
+        for (int i = 1; i <= 3; i++) {
+            insertAppointment(LocalDateTime.now().minusDays(i), "PENDING");
+        }
+        leaseRepository.deleteAll();
+        JobLeaseManager leaseManager = new JobLeaseManager(leaseRepository, transactionManager, "cleanup-test", 60_000, 0);
+        JobLeaseManager.Lease lease = leaseManager.tryAcquire(AppointmentCleanupJob.JOB_NAME).orElseThrow();
+        JobLease stored = leaseRepository.findById(AppointmentCleanupJob.JOB_NAME).orElseThrow();
+        stored.setLockedUntil(LocalDateTime.now().plusSeconds(1));
+        leaseRepository.save(stored);
+
+        assertEquals(MaintenanceJobRun.Status.COMPLETED, job.run(lease).orElseThrow().getStatus());
+        assertTrue(leaseRepository.findById(AppointmentCleanupJob.JOB_NAME).orElseThrow()
+            .getLockedUntil().isAfter(LocalDateTime.now().plusSeconds(50)));
+
+        // A run whose lease was taken over stops and is left for the new holder to resume
+        insertAppointment(LocalDateTime.now().minusDays(1), "PENDING");
+        insertAppointment(LocalDateTime.now().minusDays(2), "PENDING");
+        insertAppointment(LocalDateTime.now().minusDays(3), "PENDING");
+        stored = leaseRepository.findById(AppointmentCleanupJob.JOB_NAME).orElseThrow();
+        stored.setOwner("other-replica");
+        leaseRepository.save(stored);
+        MaintenanceJobRun lost = job.run(lease).orElseThrow();
+        assertEquals(MaintenanceJobRun.Status.FAILED, lost.getStatus());
+        assertEquals(1, lost.getChunksProcessed());
+    }
+
+    @Test
+    void testLagStartsFromLastCompletedRun() {
+        MaintenanceJobRun completed = new MaintenanceJobRun();
+        completed.setJobName(AppointmentCleanupJob.JOB_NAME);
+        completed.setStatus(MaintenanceJobRun.Status.COMPLETED);
+        completed.setCutoff(LocalDateTime.now().minusMinutes(10));
+        completed.setStartedAt(LocalDateTime.now().minusMinutes(10));
+        completed.setFinishedAt(LocalDateTime.now().minusMinutes(9));
+        jobRunRepository.save(completed);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AppointmentCleanupJob restarted = new AppointmentCleanupJob(appointmentRepository, jobRunRepository,
+            transactionManager, eventPublisher, 2, 0, registry);
+        assertTrue(Double.isNaN(registry.get("appointment.cleanup.lag").gauge().value()));
+
+        restarted.afterSingletonsInstantiated();
+        double lag = registry.get("appointment.cleanup.lag").gauge().value();
+        assertTrue(lag >= 600 && lag < 660, "lag " + lag);
+    }
+
+    private long insertAppointment(LocalDateTime dateTime, String status) {
+        jdbcTemplate.update("INSERT INTO appointments (customer_id, provider_id, service_type, appointment_datetime, " +
+                "status, created_at) VALUES (?, ?, 'DOCTOR', ?, ?, CURRENT_TIMESTAMP)",
+            customer.getId(), provider.getId(), dateTime, status);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM appointments", Long.class);
+    }
+
+    private User saveUser(String name, String email, User.Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        user.setActive(true);
+        return userRepository.save(user);
+    }
+}
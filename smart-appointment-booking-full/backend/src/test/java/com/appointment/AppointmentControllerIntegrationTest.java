@@ -1,21 +1,39 @@
 package com.appointment;
 
 import com.appointment.dto.AppointmentRequest;
+import com.appointment.dto.BatchAppointmentRequest;
 import com.appointment.model.Appointment;
 import com.appointment.model.User;
 import com.appointment.repository.AppointmentRepository;
 import com.appointment.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +53,9 @@ class AppointmentControllerIntegrationTest {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User customer;
     private User provider;
 
@@ -75,4 +96,276 @@ class AppointmentControllerIntegrationTest {
         assertEquals(HttpStatus.OK, getResponse.getStatusCode());
         assertTrue(getResponse.getBody().contains("John Doe"));
     }
+
+    @Test
+    void testBatchBooking_PerItemResults() {
+        LocalDateTime slot = LocalDateTime.now().plusDays(2).withNano(0);
+        AppointmentRequest first = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot, null);
+        // Overlaps the first item of the same batch
+        AppointmentRequest overlapping = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot.plusMinutes(30), null);
+        AppointmentRequest unknownCustomer = new AppointmentRequest(-1L, provider.getId(), Appointment.ServiceType.DOCTOR, slot.plusHours(3), null);
+        AppointmentRequest later = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot.plusHours(5), null);
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/v1/appointments/batch",
+            new BatchAppointmentRequest(List.of(first, overlapping, unknownCustomer, later)), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("2 of 4 appointments booked"));
+        assertTrue(response.getBody().contains("\"index\":1,\"status\":\"CONFLICT\""));
+        assertTrue(response.getBody().contains("\"index\":2,\"status\":\"CUSTOMER_NOT_FOUND\""));
+        assertEquals(2, appointmentRepository.count());
+
+        // Committed bookings of the batch block later single bookings
+        ResponseEntity<String> single = restTemplate.postForEntity("/api/v1/appointments",
+            new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot.plusHours(5), null), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, single.getStatusCode());
+    }
+
+    @Test
+    void testBatchBooking_PastItemIsPerItemResult() {
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withNano(0);
+        AppointmentRequest first = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot, null);
+        AppointmentRequest past = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot.minusDays(5), null);
+        AppointmentRequest later = new AppointmentRequest(customer.getId(), provider.getId(), Appointment.ServiceType.DOCTOR, slot.plusHours(5), null);
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/v1/appointments/batch",
+            new BatchAppointmentRequest(List.of(first, past, later)), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("2 of 3 appointments booked"));
+        assertTrue(response.getBody().contains("\"index\":1,\"status\":\"PAST_DATE\""));
+        assertEquals(2, appointmentRepository.count());
+
+        // Missing fields still reject the whole batch
+        AppointmentRequest incomplete = new AppointmentRequest(customer.getId(), null, Appointment.ServiceType.DOCTOR, slot.plusHours(8), null);
+        ResponseEntity<String> invalid = restTemplate.postForEntity("/api/v1/appointments/batch",
+            new BatchAppointmentRequest(List.of(incomplete)), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+    }
+
+    @Test
+    void testAvailabilityFollowsBookings() {
+        // Far enough ahead that bookings of other tests cannot overlap
+        LocalDate monday = LocalDate.now().plusWeeks(8).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        AppointmentRequest request = new AppointmentRequest(customer.getId(), provider.getId(),
+            Appointment.ServiceType.DOCTOR, monday.atTime(10, 0), null);
+        assertEquals(HttpStatus.CREATED, restTemplate.postForEntity("/api/v1/appointments", request, String.class).getStatusCode());
+
+        ResponseEntity<String> booked = restTemplate.getForEntity(
+            "/api/v1/providers/{id}/availability?from={from}&to={to}", String.class, provider.getId(), monday, monday.plusDays(6));
+        assertEquals(HttpStatus.OK, booked.getStatusCode());
+        // The 10:00 booking blocks 09:00-11:00; the weekend has no slots
+        assertTrue(booked.getBody().contains("\"freeSlots\":[\"11:15:00\""));
+        assertTrue(booked.getBody().contains("\"date\":\"" + monday.plusDays(5) + "\",\"freeSlots\":[]"));
+        assertTrue(booked.getBody().contains("\"nextFreeSlot\":\"" + monday + "T11:15:00\""));
+
+        restTemplate.delete("/api/v1/appointments/{id}", appointmentRepository.findAll().get(0).getId());
+        ResponseEntity<String> freed = restTemplate.getForEntity(
+            "/api/v1/providers/{id}/availability?from={from}&to={to}", String.class, provider.getId(), monday, monday);
+        assertTrue(freed.getBody().contains("\"freeSlots\":[\"09:00:00\",\"09:15:00\""));
+
+        ResponseEntity<String> notProvider = restTemplate.getForEntity(
+            "/api/v1/providers/{id}/availability", String.class, customer.getId());
+        assertEquals(HttpStatus.NOT_FOUND, notProvider.getStatusCode());
+        ResponseEntity<String> tooLong = restTemplate.getForEntity(
+            "/api/v1/providers/{id}/availability?from={from}&to={to}", String.class, provider.getId(), monday, monday.plusDays(60));
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+    }
+
+    @Test
+    void testEventStreamPushesCommittedChangesAndResumes() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI eventsUri = URI.create("http://localhost:" + port + "/api/v1/appointments/events?providerId=" + provider.getId());
+        Iterator<String> live = client.send(HttpRequest.newBuilder(eventsUri).build(), HttpResponse.BodyHandlers.ofLines())
+            .body().iterator();
+
+        AppointmentRequest request = new AppointmentRequest(customer.getId(), provider.getId(),
+            Appointment.ServiceType.DOCTOR, LocalDateTime.now().plusDays(20).withNano(0), null);
+        restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+        String created = nextEvent(live);
+        assertTrue(created.contains("event:appointment"));
+        assertTrue(created.contains("\"type\":\"CREATED\""));
+        String createdId = created.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+
+        // A client reconnecting after the creation receives the deletion it missed
+        restTemplate.delete("/api/v1/appointments/{id}", appointmentRepository.findAll().get(0).getId());
+        Iterator<String> resumed = client.send(HttpRequest.newBuilder(eventsUri).header("Last-Event-ID", createdId).build(),
+            HttpResponse.BodyHandlers.ofLines()).body().iterator();
+        assertTrue(nextEvent(resumed).contains("\"type\":\"DELETED\""));
+    }
+
+    // Reads the lines of the next named server-sent event, skipping comments and the reconnect hint
+    private String nextEvent(Iterator<String> lines) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            StringBuilder event = new StringBuilder();
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.isEmpty()) {
+                    if (event.indexOf("event:") >= 0) {
+                        break;
+                    }
+                    event.setLength(0);
+                } else {
+                    event.append(line).append('\n');
+                }
+            }
+            return event.toString();
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testExportStreamsFilteredRows() {
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            AppointmentRequest request = new AppointmentRequest(customer.getId(), provider.getId(),
+                Appointment.ServiceType.DOCTOR, slot.plusHours(2L * i), i == 0 ? "=HYPERLINK(\"x\"), \"quoted\"" : null);
+            restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+        }
+
+        ResponseEntity<String> ndjson = restTemplate.getForEntity(
+            "/api/v1/appointments/export?providerId={id}&start={start}", String.class, provider.getId(), slot.plusHours(1));
+        assertEquals(HttpStatus.OK, ndjson.getStatusCode());
+        assertEquals("application/x-ndjson", ndjson.getHeaders().getContentType().toString());
+        String[] lines = ndjson.getBody().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"customerName\":\"John Doe\""));
+
+        ResponseEntity<String> csv = restTemplate.getForEntity(
+            "/api/v1/appointments/export?format=csv&status=PENDING", String.class);
+        assertEquals(HttpStatus.OK, csv.getStatusCode());
+        assertTrue(csv.getHeaders().getContentDisposition().isAttachment());
+        lines = csv.getBody().split("\r\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,customerId,customerName"));
+        // Quoted because of the comma and quotes, and defused against spreadsheet formula evaluation
+        assertTrue(lines[1].contains(",\"'=HYPERLINK(\"\"x\"\"), \"\"quoted\"\"\","), lines[1]);
+    }
+
+    @Test
+    void testPaginatedListing() {
+        for (int i = 1; i <= 3; i++) {
+            AppointmentRequest request = new AppointmentRequest();
+            request.setCustomerId(customer.getId());
+            request.setServiceProviderId(provider.getId());
+            request.setServiceType(Appointment.ServiceType.DOCTOR);
+            request.setAppointmentDateTime(LocalDateTime.now().plusDays(i));
+            restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+        }
+
+        ResponseEntity<String> firstPage = restTemplate.getForEntity("/api/v1/appointments?limit=2", String.class);
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        ResponseEntity<String> lastPage = restTemplate.getForEntity("/api/v1/appointments?limit=2&cursor=" + cursor, String.class);
+        assertEquals(HttpStatus.OK, lastPage.getStatusCode());
+        assertNull(lastPage.getHeaders().getFirst("X-Next-Cursor"));
+        assertTrue(lastPage.getBody().contains("John Doe"));
+    }
+
+    @Test
+    void testStatisticsBreakdowns() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setCustomerId(customer.getId());
+        request.setServiceProviderId(provider.getId());
+        request.setServiceType(Appointment.ServiceType.DOCTOR);
+        request.setAppointmentDateTime(LocalDateTime.now().plusDays(1));
+        restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+
+        ResponseEntity<String> summary = restTemplate.getForEntity("/api/v1/appointments/stats", String.class);
+        assertEquals(HttpStatus.OK, summary.getStatusCode());
+        assertTrue(summary.getBody().contains("\"total\":1"));
+        assertTrue(summary.getBody().contains("\"noShow\":0"));
+
+        ResponseEntity<String> byProvider = restTemplate.getForEntity("/api/v1/appointments/stats/providers", String.class);
+        assertTrue(byProvider.getBody().contains("Dr. Smith"));
+
+        ResponseEntity<String> timeline = restTemplate.getForEntity("/api/v1/appointments/stats/timeline?start="
+            + LocalDateTime.now().withNano(0) + "&end=" + LocalDateTime.now().plusDays(7).withNano(0) + "&bucket=WEEK", String.class);
+        assertEquals(HttpStatus.OK, timeline.getStatusCode());
+        assertTrue(timeline.getBody().contains("\"pending\":1"));
+    }
+
+    @Test
+    void testConditionalGetSkipsUnchangedLists() {
+        AppointmentRequest request = new AppointmentRequest(customer.getId(), provider.getId(),
+            Appointment.ServiceType.DOCTOR, LocalDateTime.now().plusDays(4), null);
+        restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ResponseEntity<String> first = restTemplate.getForEntity("/api/v1/appointments/customer/{id}", String.class, customer.getId());
+        long fullQueries = statistics.getQueryExecutionCount();
+        String eTag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertTrue(eTag.startsWith("W/\""));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        statistics.clear();
+        ResponseEntity<String> unchanged = restTemplate.exchange("/api/v1/appointments/customer/{id}", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class, customer.getId());
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(eTag, unchanged.getHeaders().getETag());
+        // Only the existence check and the version aggregate ran, the list itself was not queried
+        assertTrue(statistics.getQueryExecutionCount() < fullQueries);
+
+        Appointment appointment = appointmentRepository.findAll().get(0);
+        appointment.setStatus(Appointment.Status.CONFIRMED);
+        appointmentRepository.save(appointment);
+        ResponseEntity<String> changed = restTemplate.exchange("/api/v1/appointments/customer/{id}", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class, customer.getId());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+        assertTrue(changed.getBody().contains("CONFIRMED"));
+
+        // The other list endpoints follow the same pattern
+        String providerTag = restTemplate.getForEntity("/api/v1/appointments/provider/{id}", String.class, provider.getId())
+            .getHeaders().getETag();
+        headers.setIfNoneMatch(providerTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange("/api/v1/appointments/provider/{id}", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class, provider.getId()).getStatusCode());
+        headers.setIfNoneMatch(restTemplate.getForEntity("/api/v1/appointments/stats", String.class).getHeaders().getETag());
+        statistics.clear();
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange("/api/v1/appointments/stats", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class).getStatusCode());
+        // The statistics version is counted in memory, checking it runs no query
+        assertEquals(0, statistics.getQueryExecutionCount());
+        restTemplate.delete("/api/v1/appointments/{id}", appointment.getId());
+        assertEquals(HttpStatus.OK, restTemplate.exchange("/api/v1/appointments/stats", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange("/api/v1/appointments/customer/{id}", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class, -1L).getStatusCode());
+    }
+
+    @Test
+    void testDoubleBookingRejected() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setCustomerId(customer.getId());
+        request.setServiceProviderId(provider.getId());
+        request.setServiceType(Appointment.ServiceType.DOCTOR);
+        request.setAppointmentDateTime(LocalDateTime.now().plusDays(3));
+        assertEquals(HttpStatus.CREATED, restTemplate.postForEntity("/api/v1/appointments", request, String.class).getStatusCode());
+
+        request.setAppointmentDateTime(request.getAppointmentDateTime().plusMinutes(30));
+        ResponseEntity<String> conflict = restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, conflict.getStatusCode());
+        assertTrue(conflict.getBody().contains("already has an appointment"));
+    }
+
+    @Test
+    void testSearchReturnsProjectedResponses() {
+        AppointmentRequest request = new AppointmentRequest();
+        request.setCustomerId(customer.getId());
+        request.setServiceProviderId(provider.getId());
+        request.setServiceType(Appointment.ServiceType.DENTIST);
+        request.setAppointmentDateTime(LocalDateTime.now().plusDays(5));
+        request.setNotes("Wisdom tooth");
+        restTemplate.postForEntity("/api/v1/appointments", request, String.class);
+
+        ResponseEntity<String> search = restTemplate.getForEntity("/api/v1/appointments/search?keyword=wisdom", String.class);
+        assertEquals(HttpStatus.OK, search.getStatusCode());
+        assertTrue(search.getBody().contains("\"serviceProviderName\":\"Dr. Smith\""));
+        assertTrue(search.getBody().contains("\"serviceTypeDisplayName\":\"Dental Check-up\""));
+        assertTrue(search.getBody().contains("\"statusDisplayName\":\"Pending Confirmation\""));
+    }
 }
@@ -3,6 +3,9 @@ package com.appointment;
 import com.appointment.controller.AppointmentController;
 import com.appointment.dto.AppointmentRequest;
 import com.appointment.dto.AppointmentResponse;
+import com.appointment.dto.CursorPage;
+import com.appointment.export.AppointmentExporter;
+import com.appointment.feed.AppointmentEventHub;
 import com.appointment.model.Appointment;
 import com.appointment.service.AppointmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,8 +13,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -22,6 +25,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -78,9 +82,15 @@ class AppointmentControllerTest {
 	@Autowired
 	private ObjectMapper objectMapper;
 
-	@MockBean
+	@MockitoBean
 	private AppointmentService appointmentService;
 
+	@MockitoBean
+	private AppointmentExporter appointmentExporter;
+
+	@MockitoBean
+	private AppointmentEventHub eventHub;
+
 	private AppointmentResponse appointmentResponse;
 	private AppointmentRequest appointmentRequest;
 
@@ -114,6 +124,17 @@ class AppointmentControllerTest {
 			.andExpect(jsonPath("$.data[0].customerName").value("John Doe"));
 	}
 
+	@Test
+	void testGetAllAppointments_Paginated() throws Exception {
+		when(appointmentService.getAppointmentsPage(null, 1))
+			.thenReturn(new CursorPage<>(Arrays.asList(appointmentResponse), "next-token"));
+
+		mockMvc.perform(get("/api/v1/appointments").param("limit", "1"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(AppointmentController.NEXT_CURSOR_HEADER, "next-token"))
+			.andExpect(jsonPath("$.data[0].customerName").value("John Doe"));
+	}
+
 	@Test
 	void testGetAppointmentById() throws Exception {
 		when(appointmentService.getAppointmentById(1L)).thenReturn(appointmentResponse);
@@ -136,4 +157,24 @@ class AppointmentControllerTest {
 				.andExpect(jsonPath("$.data.customerName").value("John Doe"));
 	}
 
+	@Test
+	void testExportAppointments_InvalidParameters() throws Exception {
+		mockMvc.perform(get("/api/v1/appointments/export").param("format", "xml"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/appointments/export")
+				.param("start", "2030-01-02T00:00:00")
+				.param("end", "2030-01-01T00:00:00"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testEventStreamPrefersLastEventIdHeader() throws Exception {
+		mockMvc.perform(get("/api/v1/appointments/events")
+				.param("providerId", "3")
+				.param("lastEventId", "abc-1")
+				.header("Last-Event-ID", "abc-5")
+				.accept(MediaType.TEXT_EVENT_STREAM))
+			.andExpect(status().isOk());
+		verify(eventHub).subscribe(3L, null, "abc-5");
+	}
 }
@@ -0,0 +1,159 @@
+package com.appointment;
+
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.feed.AppointmentEventHub;
+import com.appointment.model.Appointment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentEventHubTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private AppointmentEventHub hub;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hub = new AppointmentEventHub(meterRegistry, 3, 2, 10, 60_000, 60_000);
+  }
+
+  @Test
+  void testSubscribersOnlyReceiveMatchingEvents() throws Exception {
+    RecordingEmitter emitter = new RecordingEmitter(null);
+    hub.subscribe(emitter, 7L, null, null);
+
+    hub.onAppointmentChanged(change(1L, 8L));
+    hub.onAppointmentChanged(change(2L, 7L));
+
+    String received = emitter.next();
+    assertTrue(received.contains("event:" + AppointmentEventHub.CHANGE_EVENT));
+    assertTrue(received.contains("appointmentId=2"));
+    Thread.sleep(200);
+    assertTrue(emitter.sent.stream().noneMatch(event -> event.contains("event:")));
+  }
+
+  @Test
+  void testResumeReplaysMissedEventsOrResets() throws Exception {
+    RecordingEmitter first = new RecordingEmitter(null);
+    hub.subscribe(first, null, null, null);
+    hub.onAppointmentChanged(change(1L, 7L));
+    String firstId = eventId(first.next());
+    first.complete();
+
+    hub.onAppointmentChanged(change(2L, 7L));
+    hub.onAppointmentChanged(change(3L, 7L));
+    RecordingEmitter resumed = new RecordingEmitter(null);
+    hub.subscribe(resumed, null, null, firstId);
+    assertTrue(resumed.next().contains("appointmentId=2"));
+    assertTrue(resumed.next().contains("appointmentId=3"));
+    resumed.complete();
+
+    // Unknown stream (e.g. issued before a restart)
+    RecordingEmitter foreign = new RecordingEmitter(null);
+    hub.subscribe(foreign, null, null, "other-1");
+    assertTrue(foreign.next().contains("event:" + AppointmentEventHub.RESET_EVENT));
+    foreign.complete();
+
+    // Event 1 has left the history of 3 events
+    hub.onAppointmentChanged(change(4L, 7L));
+    hub.onAppointmentChanged(change(5L, 7L));
+    RecordingEmitter late = new RecordingEmitter(null);
+    hub.subscribe(late, null, null, firstId);
+    assertTrue(late.next().contains("event:" + AppointmentEventHub.RESET_EVENT));
+  }
+
+  @Test
+  void testSlowSubscriberIsEvicted() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter(null);
+    hub.subscribe(slow, null, null, null);
+    hub.subscribe(fast, null, null, null);
+
+    // The slow writer is stuck on its first write, the buffer of 2 fills up and a further event overflows
+    for (long id = 1; id <= 4; id++) {
+      hub.onAppointmentChanged(change(id, 7L));
+      Thread.sleep(50);
+    }
+
+    assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(1, hub.getSubscriberCount());
+    assertEquals(1.0, meterRegistry.get("appointment.events.evicted").counter().count());
+    for (long id = 1; id <= 4; id++) {
+      assertTrue(fast.next().contains("appointmentId=" + id));
+    }
+  }
+
+  @Test
+  void testSubscriberLimit() {
+    AppointmentEventHub limited = new AppointmentEventHub(meterRegistry, 3, 2, 2, 60_000, 60_000);
+    limited.subscribe(new RecordingEmitter(null), null, null, null);
+    limited.subscribe(new RecordingEmitter(null), null, null, null);
+    assertThrows(IllegalStateException.class, () -> limited.subscribe(new RecordingEmitter(null), null, null, null));
+  }
+
+  private AppointmentChangedEvent change(Long appointmentId, Long providerId) {
+    return new AppointmentChangedEvent(AppointmentChangedEvent.Type.CREATED, appointmentId, 1L, providerId,
+      LocalDateTime.now().plusDays(1), Appointment.Status.PENDING);
+  }
+
+  private String eventId(String sent) {
+    return sent.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+  }
+
+  /**
+   * Emitter that records the events written to it, optionally blocking each write until released
+   */
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch release;
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (release != null) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IOException("Write interrupted", e);
+        }
+      }
+      StringBuilder text = new StringBuilder();
+      builder.build().forEach(part -> text.append(part.getData()));
+      sent.add(text.toString());
+    }
+
+    @Override
+    public synchronized void complete() {
+      completed.countDown();
+      super.complete();
+    }
+
+    // Next named event, skipping the reconnect hint and heartbeats
+    String next() throws InterruptedException {
+      while (true) {
+        String event = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "no event received");
+        if (event.contains("event:")) {
+          return event;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.appointment;
+
+import com.appointment.model.Appointment;
+import com.appointment.model.User;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AppointmentGraphQLIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        userRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            User customer = saveUser("Customer " + i, "customer" + i + "@example.com", User.Role.CUSTOMER);
+            User provider = saveUser("Provider " + i, "provider" + i + "@example.com", User.Role.SERVICE_PROVIDER);
+            for (int j = 0; j < 4; j++) {
+                Appointment appointment = new Appointment();
+                appointment.setCustomer(customer);
+                appointment.setServiceProvider(provider);
+                appointment.setServiceType(Appointment.ServiceType.DOCTOR);
+                appointment.setAppointmentDateTime(LocalDateTime.now().plusDays(j + 1));
+                appointment.setStatus(Appointment.Status.PENDING);
+                appointmentRepository.save(appointment);
+            }
+        }
+    }
+
+    @Test
+    void testNestedUsersResolvedInOneBatch() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Map<String, String> body = Map.of("query",
+            "{ appointments { id customer { name } serviceProvider { name email } } }");
+        ResponseEntity<String> response = restTemplate.postForEntity("/graphql", body, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().contains("\"errors\""), response.getBody());
+        assertTrue(response.getBody().contains("Customer 3"));
+        assertTrue(response.getBody().contains("provider4@example.com"));
+        // One query for the appointments (users joined) and one batched lookup for all nested users
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private User saveUser(String name, String email, User.Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        user.setActive(true);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,120 @@
+package com.appointment;
+
+import com.appointment.dto.AppointmentResponse;
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.model.Appointment;
+import com.appointment.model.User;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.search.AppointmentSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentSearchIndexTest {
+
+  private AppointmentRepository appointmentRepository;
+  private AppointmentSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    appointmentRepository = mock(AppointmentRepository.class);
+    when(appointmentRepository.findResponsesAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of(
+      response(1L, "John Doe", 10L, "Dr. Smith", Appointment.ServiceType.DENTIST, "Wisdom tooth", 1),
+      response(2L, "Jane Roe", 11L, "Dr. Johnson", Appointment.ServiceType.DOCTOR, "Follow-up for John", 2),
+      response(3L, "Mark Lee", 10L, "Dr. Smith", Appointment.ServiceType.DOCTOR, null, 3)));
+    index = new AppointmentSearchIndex(appointmentRepository, 1000, 1000);
+    index.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void testMatchesSubstringsCaseInsensitively() {
+    assertEquals(List.of(1L), ids(index.search("WISDOM")));
+    assertEquals(List.of(1L), ids(index.search("isdo")));
+    assertEquals(List.of(3L, 2L), ids(index.search("doc")));
+    assertTrue(ids(index.search("dentistry")).isEmpty());
+    assertEquals(3, ids(index.search("")).size());
+    // Shorter than a trigram: answered by scanning
+    assertEquals(List.of(2L), ids(index.search("ro")));
+  }
+
+  @Test
+  void testRebuildReadsPagesInIdOrder() {
+    List<AppointmentResponse> firstPage = new ArrayList<>();
+    for (long id = 1; id <= 1000; id++) {
+      firstPage.add(response(id, "Customer " + id, 10L, "Dr. Smith", Appointment.ServiceType.DOCTOR, null, 1));
+    }
+    when(appointmentRepository.findResponsesAfterId(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+    when(appointmentRepository.findResponsesAfterId(eq(1000L), any(Pageable.class))).thenReturn(List.of(
+      response(1001L, "Late Comer", 10L, "Dr. Smith", Appointment.ServiceType.DOCTOR, null, 1)));
+
+    index.rebuild();
+    assertEquals(1001, index.size());
+    assertEquals(List.of(1001L), ids(index.search("late")));
+    assertEquals(List.of(500L), ids(index.search("customer 500")));
+  }
+
+  @Test
+  void testRanksNameAndWordStartMatchesFirst() {
+    // "John Doe" (customer name, word start) beats "Dr. Johnson" (provider name) and the notes of appointment 2
+    AppointmentSearchIndex.Result result = index.search("john");
+    assertEquals(List.of(2L, 1L), ids(result));
+    assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+  }
+
+  @Test
+  void testResultCapKeepsBestHits() {
+    AppointmentSearchIndex capped = new AppointmentSearchIndex(appointmentRepository, 1, 1000);
+    capped.afterSingletonsInstantiated();
+    // Appointment 2 (provider name and notes) outranks appointment 1 whatever order they are scanned in
+    AppointmentSearchIndex.Result result = capped.search("jo");
+    assertEquals(List.of(2L), ids(result));
+    assertTrue(result.capped());
+    assertFalse(capped.search("wisdom").capped());
+
+    AppointmentSearchIndex scanLimited = new AppointmentSearchIndex(appointmentRepository, 1000, 2);
+    scanLimited.afterSingletonsInstantiated();
+    result = scanLimited.search("dr.");
+    assertEquals(2, result.hits().size());
+    assertTrue(result.capped());
+  }
+
+  @Test
+  void testFollowsAppointmentAndUserChanges() {
+    index.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+      1L, 20L, 10L, LocalDateTime.now(), Appointment.Status.PENDING));
+    assertTrue(ids(index.search("wisdom")).isEmpty());
+
+    when(appointmentRepository.findResponsesByIds(List.of(3L))).thenReturn(List.of(
+      response(3L, "Mark Lee", 10L, "Dr. Smith", Appointment.ServiceType.DOCTOR, "Allergy test", 3)));
+    index.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.UPDATED,
+      3L, 20L, 10L, LocalDateTime.now(), Appointment.Status.PENDING));
+    assertEquals(List.of(3L), ids(index.search("allergy")));
+
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 10L, "Dr. Walker", "walker@example.com",
+      null, User.Role.SERVICE_PROVIDER, true, null));
+    assertTrue(ids(index.search("smith")).isEmpty());
+    assertEquals(List.of(3L), ids(index.search("walker")));
+    assertEquals(2, index.size());
+  }
+
+  private List<Long> ids(AppointmentSearchIndex.Result result) {
+    return result.hits().stream().map(AppointmentSearchIndex.Hit::appointmentId).toList();
+  }
+
+  private AppointmentResponse response(Long id, String customerName, Long providerId, String providerName,
+                                       Appointment.ServiceType serviceType, String notes, int daysAhead) {
+    return new AppointmentResponse(id, 100L + id, customerName, null, providerId, providerName, null,
+      serviceType, LocalDateTime.now().plusDays(daysAhead), notes, Appointment.Status.PENDING, null, null);
+  }
+}
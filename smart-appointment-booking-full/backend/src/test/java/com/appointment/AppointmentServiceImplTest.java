@@ -1,21 +1,35 @@
 package com.appointment;
 
+import com.appointment.booking.BookingIntervalIndex;
+import com.appointment.booking.BookingMetrics;
+import com.appointment.directory.ProviderDirectory;
+import com.appointment.dto.SearchPage;
+import com.appointment.search.AppointmentSearchIndex;
+import com.appointment.booking.ProviderLockStripes;
 import com.appointment.dto.AppointmentRequest;
 import com.appointment.dto.AppointmentResponse;
+import com.appointment.dto.BatchBookingResult;
+import com.appointment.dto.CursorPage;
 import com.appointment.exception.ResourceNotFoundException;
 import com.appointment.model.Appointment;
 import com.appointment.model.User;
 import com.appointment.repository.AppointmentRepository;
 import com.appointment.repository.UserRepository;
+import com.appointment.service.AppointmentStatisticsService;
 import com.appointment.service.impl.AppointmentServiceImpl;
+import com.appointment.service.impl.AppointmentStatisticsVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,15 +43,22 @@ class AppointmentServiceImplTest {
     notProvider.setId(2L);
     notProvider.setRole(com.appointment.model.User.Role.CUSTOMER);
     when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-    when(userRepository.findById(2L)).thenReturn(Optional.of(notProvider));
+    when(userRepository.existsById(2L)).thenReturn(true);
     appointmentRequest.setServiceProviderId(2L);
     assertThrows(com.appointment.exception.AppointmentException.class, () -> appointmentService.createAppointment(appointmentRequest));
   }
 
   @Test
-  void testCreateAppointment_PastDate() {
+  void testCreateAppointment_UnknownProvider() {
     when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    appointmentRequest.setServiceProviderId(3L);
+    assertThrows(com.appointment.exception.ResourceNotFoundException.class, () -> appointmentService.createAppointment(appointmentRequest));
+  }
+
+  @Test
+  void testCreateAppointment_PastDate() {
     when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    when(providerDirectory.findProvider(1L)).thenReturn(Optional.of(provider));
     appointmentRequest.setAppointmentDateTime(LocalDateTime.now().minusDays(1));
     assertThrows(com.appointment.exception.AppointmentException.class, () -> appointmentService.createAppointment(appointmentRequest));
   }
@@ -72,12 +93,37 @@ class AppointmentServiceImplTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private ProviderDirectory providerDirectory;
+
+  @Mock
+  private AppointmentStatisticsService statisticsService;
+
+  @Mock
+  private BookingIntervalIndex bookingIndex;
+
+  @Mock
+  private ProviderLockStripes providerLocks;
+
+  @Mock
+  private BookingMetrics bookingMetrics;
+
+  @Mock
+  private AppointmentSearchIndex searchIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private AppointmentStatisticsVersion statisticsVersion;
+
   @InjectMocks
   private AppointmentServiceImpl appointmentService;
 
   private Appointment appointment;
   private AppointmentRequest appointmentRequest;
   private User user;
+  private ProviderDirectory.Provider provider;
 
   @BeforeEach
   void setUp() {
@@ -88,6 +134,7 @@ class AppointmentServiceImplTest {
   user.setEmail("john@example.com");
   // Ensure user is a service provider for test
   user.setRole(com.appointment.model.User.Role.SERVICE_PROVIDER);
+  provider = new ProviderDirectory.Provider(1L, "John Doe", "john@example.com", null, null);
 
     appointment = new Appointment();
     appointment.setId(1L);
@@ -106,12 +153,51 @@ class AppointmentServiceImplTest {
 
   @Test
   void testGetAllAppointments() {
-    when(appointmentRepository.findAll()).thenReturn(Collections.singletonList(appointment));
+    when(appointmentRepository.findAllOrderedForListing()).thenReturn(Collections.singletonList(appointment));
     List<AppointmentResponse> responses = appointmentService.getAllAppointments();
     assertEquals(1, responses.size());
     assertEquals("John Doe", responses.get(0).getCustomerName());
   }
 
+  @Test
+  void testGetAppointmentsPage_HasMore() {
+    Appointment second = new Appointment();
+    second.setId(2L);
+    second.setCustomer(user);
+    second.setServiceProvider(user);
+    second.setServiceType(Appointment.ServiceType.DOCTOR);
+    second.setAppointmentDateTime(appointment.getAppointmentDateTime().minusHours(2));
+    second.setStatus(Appointment.Status.PENDING);
+    when(appointmentRepository.findFirstPageForListing(any(Pageable.class))).thenReturn(Arrays.asList(appointment, second));
+
+    CursorPage<AppointmentResponse> page = appointmentService.getAppointmentsPage(null, 1);
+    assertEquals(1, page.getItems().size());
+    assertTrue(page.hasMore());
+
+    when(appointmentRepository.findNextPageForListing(
+      eq(appointment.getAppointmentDateTime()), eq(1L), eq(1L), any(Pageable.class)))
+      .thenReturn(Collections.singletonList(second));
+    CursorPage<AppointmentResponse> next = appointmentService.getAppointmentsPage(page.getNextCursor(), 1);
+    assertEquals(2L, next.getItems().get(0).getId());
+    assertFalse(next.hasMore());
+  }
+
+  @Test
+  void testGetAppointmentsPage_InvalidCursor() {
+    assertThrows(IllegalArgumentException.class, () -> appointmentService.getAppointmentsPage("not-a-cursor", 10));
+  }
+
+  @Test
+  void testGetAppointmentsByStatus_UsesProjection() {
+    AppointmentResponse projected = new AppointmentResponse(1L, 1L, "John Doe", "john@example.com",
+      2L, "Dr. Smith", "smith@example.com", Appointment.ServiceType.DOCTOR, LocalDateTime.now().plusDays(1),
+      null, Appointment.Status.CONFIRMED, null, null);
+    when(appointmentRepository.findResponsesByStatus(Appointment.Status.CONFIRMED)).thenReturn(Collections.singletonList(projected));
+    List<AppointmentResponse> responses = appointmentService.getAppointmentsByStatus(Appointment.Status.CONFIRMED);
+    assertEquals("Confirmed", responses.get(0).getStatusDisplayName());
+    verify(appointmentRepository, never()).findByStatus(any());
+  }
+
   @Test
   void testGetAppointmentById_Found() {
     when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
@@ -128,9 +214,105 @@ class AppointmentServiceImplTest {
   @Test
   void testCreateAppointment_Success() {
     when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    when(providerDirectory.findProvider(1L)).thenReturn(Optional.of(provider));
     when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
     AppointmentResponse response = appointmentService.createAppointment(appointmentRequest);
     assertEquals("John Doe", response.getCustomerName());
+    assertEquals("john@example.com", response.getServiceProviderEmail());
+    verify(userRepository).getReferenceById(1L);
+    verify(eventPublisher).publishEvent(any(com.appointment.event.AppointmentChangedEvent.class));
+  }
+
+  @Test
+  void testCreateAppointment_Conflict() {
+    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    when(providerDirectory.findProvider(1L)).thenReturn(Optional.of(provider));
+    when(bookingIndex.hasConflict(eq(1L), any(LocalDateTime.class))).thenReturn(true);
+    assertThrows(com.appointment.exception.AppointmentException.class, () -> appointmentService.createAppointment(appointmentRequest));
+    verify(appointmentRepository, never()).save(any(Appointment.class));
+    verify(bookingMetrics).rejected(BookingMetrics.Reason.CONFLICT);
+  }
+
+  @Test
+  void testUpdateAppointment_RescheduleConflict() {
+    LocalDateTime newTime = appointment.getAppointmentDateTime().plusHours(2);
+    appointmentRequest.setAppointmentDateTime(newTime);
+    when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+    when(bookingIndex.hasConflict(1L, newTime, 1L)).thenReturn(true);
+    assertThrows(com.appointment.exception.AppointmentException.class, () -> appointmentService.updateAppointment(1L, appointmentRequest));
+    verify(appointmentRepository, never()).save(any(Appointment.class));
+    verify(bookingMetrics).rejected(BookingMetrics.Reason.CONFLICT);
+    // The provider lock is taken before the index is checked
+    InOrder order = inOrder(providerLocks, bookingIndex);
+    order.verify(providerLocks).lockUntilTransactionEnds(1L);
+    order.verify(bookingIndex).hasConflict(1L, newTime, 1L);
+  }
+
+  @Test
+  void testUpdateAppointmentStatus_ReactivationChecksSlot() {
+    appointment.setStatus(Appointment.Status.CANCELLED);
+    when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+    when(bookingIndex.hasConflict(1L, appointment.getAppointmentDateTime(), 1L)).thenReturn(true);
+    assertThrows(com.appointment.exception.AppointmentException.class,
+      () -> appointmentService.updateAppointmentStatus(1L, Appointment.Status.CONFIRMED));
+    verify(appointmentRepository, never()).save(any(Appointment.class));
+    verify(providerLocks).lockUntilTransactionEnds(1L);
+
+    // Moving between active states keeps the slot, no check needed
+    appointment.setStatus(Appointment.Status.PENDING);
+    when(appointmentRepository.save(appointment)).thenReturn(appointment);
+    appointmentService.updateAppointmentStatus(1L, Appointment.Status.CONFIRMED);
+    verify(bookingIndex, times(1)).hasConflict(any(), any(), any());
+  }
+
+  @Test
+  void testSearchAppointments_PagesInRankOrder() {
+    when(searchIndex.search("doe")).thenReturn(new AppointmentSearchIndex.Result(List.of(
+      new AppointmentSearchIndex.Hit(3L, 6), new AppointmentSearchIndex.Hit(1L, 6), new AppointmentSearchIndex.Hit(2L, 3)), false));
+    AppointmentResponse first = new AppointmentResponse();
+    first.setId(1L);
+    AppointmentResponse second = new AppointmentResponse();
+    second.setId(2L);
+    when(appointmentRepository.findResponsesByIds(anyCollection())).thenReturn(List.of(second, first));
+
+    SearchPage<AppointmentResponse> page = appointmentService.searchAppointments("doe", 0, 10);
+    assertEquals(3, page.getTotalMatches());
+    // Appointment 3 no longer exists and is dropped from the index
+    assertEquals(List.of(1L, 2L), page.getItems().stream().map(AppointmentResponse::getId).toList());
+    verify(searchIndex).remove(3L);
+
+    page = appointmentService.searchAppointments("doe", 1, 1);
+    assertEquals(1, page.getItems().size());
+    assertEquals(1L, page.getItems().get(0).getId());
+
+    page = appointmentService.searchAppointments("doe", 1, 2);
+    assertEquals(List.of(2L), page.getItems().stream().map(AppointmentResponse::getId).toList());
+  }
+
+  @Test
+  void testCreateAppointments_RejectsPerItem() {
+    User customer = new User();
+    customer.setId(2L);
+    customer.setName("Jane Roe");
+    user.setActive(true);
+    when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user, customer));
+    when(bookingIndex.getConflictWindow()).thenReturn(java.time.Duration.ofMinutes(60));
+    when(appointmentRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    LocalDateTime slot = LocalDateTime.now().plusDays(1);
+    AppointmentRequest overlapping = new AppointmentRequest(2L, 1L, Appointment.ServiceType.DOCTOR, slot.plusMinutes(30), null);
+    AppointmentRequest notAProvider = new AppointmentRequest(1L, 2L, Appointment.ServiceType.DOCTOR, slot, null);
+    AppointmentRequest unknownCustomer = new AppointmentRequest(9L, 1L, Appointment.ServiceType.DOCTOR, slot, null);
+    appointmentRequest.setAppointmentDateTime(slot);
+
+    List<BatchBookingResult> results = appointmentService.createAppointments(
+      List.of(appointmentRequest, overlapping, notAProvider, unknownCustomer));
+    assertEquals(List.of(BatchBookingResult.Status.CREATED, BatchBookingResult.Status.CONFLICT,
+        BatchBookingResult.Status.NOT_A_PROVIDER, BatchBookingResult.Status.CUSTOMER_NOT_FOUND),
+      results.stream().map(BatchBookingResult::getStatus).toList());
+    verify(userRepository, times(1)).findAllById(anyCollection());
+    verify(providerLocks).lockAllUntilTransactionEnds(java.util.Set.of(1L));
+    verify(appointmentRepository).saveAllAndFlush(argThat(saved -> saved.iterator().hasNext()));
+    verify(bookingMetrics).rejected(BookingMetrics.Reason.CONFLICT);
   }
 }
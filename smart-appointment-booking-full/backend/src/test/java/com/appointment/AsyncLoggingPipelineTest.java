@@ -0,0 +1,114 @@
+package com.appointment;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import com.appointment.logging.BoundedAsyncAppender;
+import com.appointment.logging.LoggerRateSampler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggingPipelineTest {
+
+  private LoggerContext context;
+
+  @BeforeEach
+  void setUp() {
+    context = new LoggerContext();
+    context.setMDCAdapter(new LogbackMDCAdapter());
+  }
+
+  @Test
+  void testSamplerLimitsEachLoggerButNotWarnings() {
+    LoggerRateSampler sampler = new LoggerRateSampler();
+    sampler.setEventsPerSecond(2);
+    sampler.setContext(context);
+    sampler.start();
+    context.addTurboFilter(sampler);
+    ListAppender<ILoggingEvent> target = new ListAppender<>();
+    target.setContext(context);
+    target.start();
+    context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(target);
+
+    long second;
+    do {
+      target.list.clear();
+      second = System.currentTimeMillis() / 1000;
+      Logger busy = context.getLogger("busy" + second);
+      Logger quiet = context.getLogger("quiet" + second);
+      for (int i = 0; i < 5; i++) {
+        busy.info("routine {}", i);
+      }
+      busy.debug("below the logger level, not counted");
+      busy.warn("important");
+      quiet.info("own budget");
+      // Retry in the rare case the loop crossed a one-second window
+    } while (second != System.currentTimeMillis() / 1000);
+
+    assertEquals(List.of("routine 0", "routine 1", "important", "own budget"),
+      target.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+    assertTrue(sampler.getSampledOutCount() >= 3);
+  }
+
+  @Test
+  void testAppenderDropsInsteadOfBlocking() throws Exception {
+    CountDownLatch writerBusy = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> written = new CopyOnWriteArrayList<>();
+    AppenderBase<ILoggingEvent> slowDisk = new AppenderBase<>() {
+      @Override
+      protected void append(ILoggingEvent event) {
+        writerBusy.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        written.add(event.getFormattedMessage());
+      }
+    };
+    slowDisk.setContext(context);
+    slowDisk.start();
+
+    BoundedAsyncAppender async = new BoundedAsyncAppender();
+    async.setContext(context);
+    async.setName("ASYNC");
+    async.setQueueSize(4);
+    async.setDiscardingThreshold(2);
+    async.setMaxBlockMillis(10);
+    async.addAppender(slowDisk);
+    async.start();
+    Logger logger = context.getLogger("hot.path");
+    logger.setLevel(Level.INFO);
+    logger.addAppender(async);
+
+    logger.info("first");
+    assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+    // Three INFO events fit above the threshold of two free slots, the rest are discarded
+    for (int i = 0; i < 6; i++) {
+      logger.info("info {}", i);
+    }
+    // WARN takes the reserved slot, the next one finds the queue full and is dropped after waiting
+    logger.warn("warn 1");
+    long start = System.nanoTime();
+    logger.warn("warn 2");
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(3, async.getDiscardedCount());
+    assertEquals(1, async.getOverflowCount());
+    release.countDown();
+    async.stop();
+    assertEquals(List.of("first", "info 0", "info 1", "info 2", "warn 1"), written);
+  }
+}
@@ -0,0 +1,108 @@
+package com.appointment;
+
+import com.appointment.booking.BookingIntervalIndex;
+import com.appointment.event.AppointmentChangedEvent;
+import com.appointment.model.Appointment;
+import com.appointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+
+  private AppointmentRepository appointmentRepository;
+  private BookingIntervalIndex index;
+  private LocalDateTime tomorrowTen;
+
+  @BeforeEach
+  void setUp() {
+    appointmentRepository = mock(AppointmentRepository.class);
+    when(appointmentRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+    index = new BookingIntervalIndex(appointmentRepository, 60);
+    index.afterSingletonsInstantiated();
+    tomorrowTen = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+  }
+
+  @Test
+  void testConflictWindowIsInclusive() {
+    index.put(1L, 7L, tomorrowTen);
+    assertTrue(index.hasConflict(7L, tomorrowTen.plusMinutes(60)));
+    assertTrue(index.hasConflict(7L, tomorrowTen.minusMinutes(30)));
+    assertFalse(index.hasConflict(7L, tomorrowTen.plusMinutes(61)));
+    assertFalse(index.hasConflict(8L, tomorrowTen));
+  }
+
+  @Test
+  void testRescheduleAndExclusion() {
+    index.put(1L, 7L, tomorrowTen);
+    assertFalse(index.hasConflict(7L, tomorrowTen, 1L));
+
+    index.put(1L, 7L, tomorrowTen.plusHours(3));
+    assertFalse(index.hasConflict(7L, tomorrowTen));
+    assertTrue(index.hasConflict(7L, tomorrowTen.plusHours(3)));
+  }
+
+  @Test
+  void testCancellationAndDeletionFreeTheSlot() {
+    index.put(1L, 7L, tomorrowTen);
+    index.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.STATUS_CHANGED,
+      1L, 2L, 7L, tomorrowTen, Appointment.Status.CANCELLED));
+    assertFalse(index.hasConflict(7L, tomorrowTen));
+
+    index.put(2L, 7L, tomorrowTen);
+    index.onAppointmentChanged(new AppointmentChangedEvent(AppointmentChangedEvent.Type.DELETED,
+      2L, 2L, 7L, tomorrowTen, Appointment.Status.PENDING));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void testChangesDuringReloadAreNotBlockedAndKept() {
+    List<Object[]> rows = new ArrayList<>();
+    rows.add(new Object[] {1L, 7L, tomorrowTen});
+    rows.add(new Object[] {2L, 7L, tomorrowTen.plusHours(3)});
+    when(appointmentRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenAnswer(invocation -> {
+      // Another thread applies committed changes while the reload query runs; it must not wait for the query
+      CompletableFuture.runAsync(() -> {
+        index.put(3L, 8L, tomorrowTen);
+        index.remove(2L);
+      }).get(5, TimeUnit.SECONDS);
+      return rows;
+    });
+
+    index.rebuild();
+
+    assertEquals(2, index.size());
+    assertTrue(index.hasConflict(7L, tomorrowTen));
+    assertTrue(index.hasConflict(8L, tomorrowTen));
+    assertFalse(index.hasConflict(7L, tomorrowTen.plusHours(3)));
+    // The same changes during a verification are not reported as discrepancies
+    assertEquals(true, index.verifyConsistency().get("consistent"));
+  }
+
+  @Test
+  void testVerifyConsistencyRepairsIndex() {
+    index.put(1L, 7L, tomorrowTen);
+    List<Object[]> rows = new ArrayList<>();
+    rows.add(new Object[]{2L, 7L, tomorrowTen.plusHours(5)});
+    when(appointmentRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(rows);
+
+    Map<String, Object> report = index.verifyConsistency();
+    assertEquals(false, report.get("consistent"));
+    assertEquals(1, report.get("missingOrOutdated"));
+    assertEquals(1, report.get("stale"));
+    assertFalse(index.hasConflict(7L, tomorrowTen));
+    assertTrue(index.hasConflict(7L, tomorrowTen.plusHours(5)));
+  }
+}
@@ -0,0 +1,59 @@
+package com.appointment;
+
+import com.appointment.database.BulkheadDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DataSource target;
+  private BulkheadDataSource bulkhead;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    meterRegistry = new SimpleMeterRegistry();
+    target = mock(DataSource.class);
+    when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    bulkhead = new BulkheadDataSource(target, 2, 50, meterRegistry);
+  }
+
+  @Test
+  void testRejectsWhenAllPermitsInUse() throws SQLException {
+    Connection first = bulkhead.getConnection();
+    Connection second = bulkhead.getConnection();
+    assertEquals(0, bulkhead.availablePermits());
+
+    assertThrows(SQLTransientConnectionException.class, () -> bulkhead.getConnection());
+    assertEquals(1.0, meterRegistry.get("database.bulkhead.rejected").counter().count());
+
+    first.close();
+    second.close();
+    assertEquals(2, bulkhead.availablePermits());
+  }
+
+  @Test
+  void testDoubleCloseReleasesOnce() throws SQLException {
+    Connection connection = bulkhead.getConnection();
+    connection.close();
+    connection.close();
+    assertEquals(2, bulkhead.availablePermits());
+    assertSame(connection, connection.unwrap(Connection.class));
+  }
+
+  @Test
+  void testPermitReturnedWhenPoolFails() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+    assertThrows(SQLException.class, () -> bulkhead.getConnection());
+    assertEquals(2, bulkhead.availablePermits());
+  }
+}
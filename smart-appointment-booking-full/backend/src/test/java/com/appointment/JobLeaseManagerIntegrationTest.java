@@ -0,0 +1,90 @@
+package com.appointment;
+
+import com.appointment.model.JobLease;
+import com.appointment.repository.JobLeaseRepository;
+import com.appointment.scheduler.JobLeaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class JobLeaseManagerIntegrationTest {
+
+    private static final String JOB = "test-job";
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobLeaseManager replicaA;
+    private JobLeaseManager replicaB;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository.deleteAll();
+        replicaA = new JobLeaseManager(leaseRepository, transactionManager, "replica-a", 60_000, 0);
+        replicaB = new JobLeaseManager(leaseRepository, transactionManager, "replica-b", 60_000, 0);
+    }
+
+    @Test
+    void testOnlyOneReplicaHoldsTheLease() {
+        Optional<JobLeaseManager.Lease> leaseA = replicaA.tryAcquire(JOB);
+        assertTrue(leaseA.isPresent());
+        assertTrue(replicaB.tryAcquire(JOB).isEmpty());
+
+        AtomicInteger runs = new AtomicInteger();
+        assertFalse(replicaB.runExclusively(JOB, lease -> runs.incrementAndGet()));
+        assertEquals(0, runs.get());
+
+        leaseA.get().close();
+        assertTrue(replicaB.runExclusively(JOB, lease -> runs.incrementAndGet()));
+        assertEquals(1, runs.get());
+        assertEquals("replica-b", leaseRepository.findById(JOB).orElseThrow().getOwner());
+    }
+
+    @Test
+    void testExpiredLeaseOfDeadHolderIsTakenOver() {
+        leaseRepository.save(new JobLease(JOB, "dead-replica",
+            LocalDateTime.now().minusHours(1), LocalDateTime.now().minusMinutes(1)));
+
+        assertTrue(replicaA.tryAcquire(JOB).isPresent());
+        assertEquals("replica-a", leaseRepository.findById(JOB).orElseThrow().getOwner());
+    }
+
+    @Test
+    void testLeaseIsKeptForLockAtLeast() {
+        JobLeaseManager holder = new JobLeaseManager(leaseRepository, transactionManager, "replica-c", 60_000, 30_000);
+        assertTrue(holder.runExclusively(JOB, lease -> { }));
+        assertTrue(replicaA.tryAcquire(JOB).isEmpty());
+    }
+
+    @Test
+    void testRenewExtendsLeaseUntilTakenOver() {
+        JobLeaseManager.Lease lease = replicaA.tryAcquire(JOB).orElseThrow();
+        JobLease stored = leaseRepository.findById(JOB).orElseThrow();
+        stored.setLockedUntil(LocalDateTime.now().plusSeconds(1));
+        leaseRepository.save(stored);
+
+        lease.renew();
+        assertTrue(leaseRepository.findById(JOB).orElseThrow().getLockedUntil().isAfter(LocalDateTime.now().plusSeconds(50)));
+
+        // The lease expired and another replica claimed it: the old holder must stop
+        stored = leaseRepository.findById(JOB).orElseThrow();
+        stored.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        leaseRepository.save(stored);
+        assertTrue(replicaB.tryAcquire(JOB).isPresent());
+        assertThrows(IllegalStateException.class, lease::renew);
+    }
+}
@@ -0,0 +1,88 @@
+package com.appointment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private List<MeterFilter> meterFilters;
+
+  @Test
+  void testServiceAndRepositoryCallsAreTimedWithHistograms() {
+    ResponseEntity<String> response = restTemplate.getForEntity("/api/v1/appointments/stats", String.class);
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+
+    Timer serviceTimer = meterRegistry.get("service.method")
+      .tag("class", "com.appointment.service.impl.AppointmentServiceImpl")
+      .tag("method", "getAppointmentStatistics")
+      .timer();
+    assertTrue(serviceTimer.count() > 0);
+
+    Timer repositoryTimer = meterRegistry.get("spring.data.repository.invocations")
+      .tag("repository", "AppointmentRepository")
+      .timer();
+    assertTrue(repositoryTimer.count() > 0);
+  }
+
+  @Test
+  void testGraphQlFieldsAreTimed() {
+    Map<String, String> body = Map.of("query", "{ appointments { id customer { name } } }");
+    assertEquals(HttpStatus.OK, restTemplate.postForEntity("/graphql", body, String.class).getStatusCode());
+
+    Timer fieldTimer = meterRegistry.get("graphql.datafetcher").tag("graphql.field.name", "appointments").timer();
+    assertTrue(fieldTimer.count() > 0);
+  }
+
+  @Test
+  void testBookingCountersAreRegistered() {
+    assertNotNull(meterRegistry.get("booking.conflicts").counter());
+    assertNotNull(meterRegistry.get("booking.rejected").tag("reason", "conflict").counter());
+    assertNotNull(meterRegistry.get("appointment.cleanup.rows").counter());
+  }
+
+  @Test
+  void testLoggingPipelineMetricsAreRegistered() {
+    for (String reason : List.of("sampled", "discarded", "overflow")) {
+      assertNotNull(meterRegistry.get("logging.events.dropped").tag("reason", reason).functionCounter());
+    }
+    assertNotNull(meterRegistry.get("logging.queue.size").tag("appender", "ASYNC").gauge());
+  }
+
+  @Test
+  void testLatencyTimersPublishPrometheusHistograms() {
+    // The test context uses a simple registry, so apply the configured meter filters to a Prometheus registry
+    PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    meterFilters.forEach(prometheus.config()::meterFilter);
+    for (String name : List.of("service.method", "spring.data.repository.invocations", "graphql.datafetcher",
+      "hikaricp.connections.acquire", "http.server.requests")) {
+      Timer.builder(name).register(prometheus).record(Duration.ofMillis(5));
+      String bucket = name.replace('.', '_') + "_seconds_bucket";
+      assertTrue(prometheus.scrape().contains(bucket), "expected histogram buckets for " + name);
+    }
+  }
+}
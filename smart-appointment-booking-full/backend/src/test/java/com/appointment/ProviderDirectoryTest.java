@@ -0,0 +1,95 @@
+package com.appointment;
+
+import com.appointment.directory.ProviderDirectory;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.event.UsersCreatedEvent;
+import com.appointment.model.User;
+import com.appointment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProviderDirectoryTest {
+
+  private UserRepository userRepository;
+  private ProviderDirectory directory;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    when(userRepository.findAllActiveServiceProviders()).thenReturn(List.of(
+      user(2L, "Dr. Brown", User.Role.SERVICE_PROVIDER), user(1L, "Dr. Adams", User.Role.SERVICE_PROVIDER)));
+    directory = new ProviderDirectory(userRepository);
+    directory.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void testSnapshotIsOrderedById() {
+    List<ProviderDirectory.Provider> providers = directory.getProviders();
+    assertEquals(2, providers.size());
+    assertEquals(1L, providers.get(0).id());
+    assertEquals("Dr. Adams", directory.findProvider(1L).orElseThrow().name());
+    verify(userRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  void testChangesCreateNewSnapshotVersions() {
+    List<ProviderDirectory.Provider> before = directory.getProviders();
+    long version = directory.getVersion();
+
+    directory.onUserChanged(UserChangedEvent.of(UserChangedEvent.Type.CREATED, user(3L, "Dr. Clark", User.Role.SERVICE_PROVIDER)));
+    directory.onUserChanged(UserChangedEvent.of(UserChangedEvent.Type.UPDATED, user(1L, "Dr. Adams", User.Role.CUSTOMER)));
+    directory.onUserChanged(UserChangedEvent.of(UserChangedEvent.Type.DELETED, user(2L, "Dr. Brown", User.Role.SERVICE_PROVIDER)));
+
+    assertEquals(version + 3, directory.getVersion());
+    assertEquals(List.of(3L), directory.getProviders().stream().map(ProviderDirectory.Provider::id).toList());
+    // Readers holding the old snapshot are not affected
+    assertEquals(2, before.size());
+
+    directory.onUserChanged(UserChangedEvent.of(UserChangedEvent.Type.CREATED, user(4L, "Customer", User.Role.CUSTOMER)));
+    assertEquals(version + 3, directory.getVersion());
+  }
+
+  @Test
+  void testBulkCreationIsOneSnapshotVersion() {
+    long version = directory.getVersion();
+
+    directory.onUsersCreated(UsersCreatedEvent.of(List.of(
+      user(3L, "Dr. Clark", User.Role.SERVICE_PROVIDER),
+      user(4L, "Customer", User.Role.CUSTOMER),
+      user(5L, "Dr. Evans", User.Role.SERVICE_PROVIDER))));
+
+    assertEquals(version + 1, directory.getVersion());
+    assertEquals(List.of(1L, 2L, 3L, 5L), directory.getProviders().stream().map(ProviderDirectory.Provider::id).toList());
+
+    directory.onUsersCreated(UsersCreatedEvent.of(List.of(user(6L, "Customer", User.Role.CUSTOMER))));
+    assertEquals(version + 1, directory.getVersion());
+  }
+
+  @Test
+  void testMissingProviderIsLoadedOnce() {
+    when(userRepository.findById(5L)).thenReturn(Optional.of(user(5L, "Dr. Evans", User.Role.SERVICE_PROVIDER)));
+    when(userRepository.findById(6L)).thenReturn(Optional.of(user(6L, "Customer", User.Role.CUSTOMER)));
+
+    assertTrue(directory.findProvider(5L).isPresent());
+    assertTrue(directory.findProvider(5L).isPresent());
+    assertTrue(directory.findProvider(6L).isEmpty());
+    verify(userRepository, times(1)).findById(5L);
+    assertEquals(3, directory.getProviders().size());
+  }
+
+  private User user(Long id, String name, User.Role role) {
+    User user = new User();
+    user.setId(id);
+    user.setName(name);
+    user.setEmail(name.replace(" ", "").replace(".", "").toLowerCase() + "@example.com");
+    user.setRole(role);
+    user.setActive(true);
+    return user;
+  }
+}
@@ -0,0 +1,75 @@
+package com.appointment;
+
+import com.appointment.booking.ProviderLockStripes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderLockStripesTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ProviderLockStripes locks;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    locks = new ProviderLockStripes(60, 100, meterRegistry);
+  }
+
+  @Test
+  void testStripeCountRoundedToPowerOfTwo() {
+    assertEquals(64, locks.getStripeCount());
+    assertEquals(1, new ProviderLockStripes(1, 100, new SimpleMeterRegistry()).getStripeCount());
+  }
+
+  @Test
+  void testSameProviderTimesOut() throws Exception {
+    try (ProviderLockStripes.Handle ignored = locks.acquire(7L)) {
+      CompletableFuture<Void> second = CompletableFuture.runAsync(() -> locks.acquire(7L).close());
+      Exception e = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+    assertEquals(1.0, meterRegistry.get("booking.lock.timeouts").counter().count());
+    assertEquals(1.0, meterRegistry.get("booking.lock.contended").counter().count());
+  }
+
+  @Test
+  void testDifferentProvidersRunInParallel() throws Exception {
+    try (ProviderLockStripes.Handle ignored = locks.acquire(1L)) {
+      CompletableFuture<Void> other = CompletableFuture.runAsync(() -> locks.acquire(2L).close());
+      other.get(5, TimeUnit.SECONDS);
+    }
+    assertEquals(0.0, meterRegistry.get("booking.lock.contended").counter().count());
+  }
+
+  @Test
+  void testLockRequiresTransaction() {
+    assertThrows(IllegalStateException.class, () -> locks.lockUntilTransactionEnds(1L));
+  }
+
+  @Test
+  void testBatchLockReleasedOnCompletion() throws Exception {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      locks.lockAllUntilTransactionEnds(List.of(3L, 1L, 2L, 1L));
+      CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> locks.acquire(2L).close());
+      Exception e = assertThrows(Exception.class, () -> blocked.get(5, TimeUnit.SECONDS));
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+
+      TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    CompletableFuture.runAsync(() -> locks.acquire(2L).close()).get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,131 @@
+package com.appointment;
+
+import com.appointment.availability.ProviderSlotCalendar;
+import com.appointment.booking.BookingIntervalIndex;
+import com.appointment.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProviderSlotCalendarTest {
+
+  private static final String[] WEEKDAYS = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"};
+
+  private AppointmentRepository appointmentRepository;
+  private BookingIntervalIndex index;
+  private ProviderSlotCalendar calendar;
+  private LocalDate monday;
+  private LocalDateTime now;
+
+  @BeforeEach
+  void setUp() {
+    appointmentRepository = mock(AppointmentRepository.class);
+    index = new BookingIntervalIndex(appointmentRepository, 60);
+    calendar = new ProviderSlotCalendar(index, 15, "09:00", "17:00", WEEKDAYS);
+    monday = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    now = LocalDateTime.now();
+  }
+
+  @Test
+  void testFreeSlotsMatchConflictCheck() {
+    index.put(1L, 7L, monday.atTime(12, 10));
+
+    List<LocalTime> free = calendar.getFreeSlots(7L, monday, now);
+    assertEquals(32 - 8, free.size());
+    assertTrue(free.contains(LocalTime.of(11, 0)));
+    assertFalse(free.contains(LocalTime.of(11, 15)));
+    assertFalse(free.contains(LocalTime.of(13, 0)));
+    assertTrue(free.contains(LocalTime.of(13, 15)));
+    for (LocalTime slot = LocalTime.of(9, 0); slot.isBefore(LocalTime.of(17, 0)); slot = slot.plusMinutes(15)) {
+      assertEquals(!index.hasConflict(7L, monday.atTime(slot)), free.contains(slot), "slot " + slot);
+    }
+    assertEquals(32, calendar.getFreeSlots(8L, monday, now).size());
+  }
+
+  @Test
+  void testOverlappingBookingsAndMoves() {
+    index.put(1L, 7L, monday.atTime(10, 0));
+    index.put(2L, 7L, monday.atTime(10, 30));
+    index.remove(1L);
+    assertFalse(calendar.getFreeSlots(7L, monday, now).contains(LocalTime.of(11, 30)));
+    assertTrue(calendar.getFreeSlots(7L, monday, now).contains(LocalTime.of(9, 15)));
+
+    // Moving a booking frees its old window
+    index.put(2L, 7L, monday.atTime(16, 0));
+    assertEquals(LocalTime.of(9, 0), calendar.getFreeSlots(7L, monday, now).get(0));
+    assertFalse(calendar.getFreeSlots(7L, monday, now).contains(LocalTime.of(15, 0)));
+  }
+
+  @Test
+  void testWorkingDaysPastSlotsAndDayBoundaries() {
+    LocalDate saturday = monday.minusDays(2);
+    assertTrue(calendar.getFreeSlots(7L, saturday, now).isEmpty());
+    assertTrue(calendar.getFreeSlots(7L, monday, monday.atTime(16, 50)).isEmpty());
+
+    // A booking just before midnight blocks slots of the next day
+    index.put(1L, 7L, monday.minusDays(1).atTime(23, 30));
+    ProviderSlotCalendar earlyCalendar = new ProviderSlotCalendar(index, 15, "00:00", "02:00", WEEKDAYS);
+    assertEquals(LocalTime.of(0, 45), earlyCalendar.getFreeSlots(7L, monday, now).get(0));
+  }
+
+  @Test
+  void testRebuildReplacesCalendar() {
+    index.put(1L, 7L, monday.atTime(10, 0));
+    List<Object[]> rows = List.<Object[]>of(new Object[]{2L, 7L, monday.atTime(14, 0)});
+    when(appointmentRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(rows);
+    index.rebuild();
+
+    List<LocalTime> free = calendar.getFreeSlots(7L, monday, now);
+    assertTrue(free.contains(LocalTime.of(10, 0)));
+    assertFalse(free.contains(LocalTime.of(14, 0)));
+  }
+
+  @Test
+  void testOccupancyAndFirstFreeSlot() {
+    index.put(1L, 7L, monday.atTime(9, 0));
+    index.put(2L, 7L, monday.atTime(10, 30));
+    assertTrue(calendar.isOccupied(7L, monday.atTime(11, 30)));
+    assertFalse(calendar.isOccupied(7L, monday.atTime(11, 45)));
+    assertThrows(IllegalArgumentException.class, () -> calendar.isOccupied(7L, monday.atTime(11, 50)));
+
+    assertEquals(Optional.of(monday.atTime(11, 45)), calendar.findFirstFreeSlot(7L, monday.atTime(8, 0), monday));
+    assertEquals(Optional.of(monday.atTime(12, 0)), calendar.findFirstFreeSlot(7L, monday.atTime(11, 46), monday));
+
+    // Friday afternoon fully booked: the search skips the weekend
+    LocalDate friday = monday.plusDays(4);
+    index.put(3L, 7L, friday.atTime(16, 0));
+    assertEquals(Optional.of(friday.plusDays(3).atTime(9, 0)),
+      calendar.findFirstFreeSlot(7L, friday.atTime(15, 0), friday.plusDays(7)));
+    assertEquals(Optional.empty(), calendar.findFirstFreeSlot(7L, friday.atTime(15, 0), friday.plusDays(2)));
+  }
+
+  @Test
+  void testProviderYearTakesKilobytes() {
+    LocalDate firstOfYear = LocalDate.of(monday.getYear() + 1, 1, 1);
+    for (int day = 0; day < 365; day++) {
+      for (int hour = 9; hour < 17; hour += 2) {
+        index.put((long) day * 24 + hour, 7L, firstOfYear.plusDays(day).atTime(hour, 0));
+      }
+    }
+    assertEquals(1, calendar.size());
+    // 366 days of 96 slots = 366 x 2 longs
+    assertEquals(366 * 2 * Long.BYTES, calendar.getAllocatedBytes());
+  }
+
+  @Test
+  void testSlotLengthMustDivideDay() {
+    assertThrows(IllegalArgumentException.class, () -> new ProviderSlotCalendar(index, 7, "09:00", "17:00", WEEKDAYS));
+  }
+}
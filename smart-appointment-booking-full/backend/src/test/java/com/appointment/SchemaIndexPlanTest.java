@@ -0,0 +1,166 @@
+package com.appointment;
+
+import com.appointment.export.AppointmentExportFilter;
+import com.appointment.model.Appointment;
+import com.appointment.repository.AppointmentRepository;
+import com.appointment.repository.MaintenanceJobRunRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hot repository queries are served by the indexes of the schema migrations
+ * The SQL Hibernate generates for each repository method is captured with a statement inspector and
+ * EXPLAINed on H2. The PostgreSQL migration defines the same composite indexes plus partial indexes;
+ * those partial indexes are not verified here, as the tests run on H2 only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.appointment.SchemaIndexPlanTest$SqlCapture")
+@ActiveProfiles("test")
+class SchemaIndexPlanTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MaintenanceJobRunRepository jobRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testMigrationsApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+            "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" = TRUE ORDER BY \"installed_rank\"",
+            String.class);
+        assertTrue(versions.containsAll(List.of("1", "2", "3")), versions.toString());
+    }
+
+    @Test
+    void testConflictCheckUsesProviderIndex() {
+        assertPlanUsesIndex("IDX_APPOINTMENTS_PROVIDER_DATETIME",
+            () -> appointmentRepository.findConflictingAppointments(1L, TIME, TIME.plusHours(1)));
+        // Without a time condition H2 may pick its foreign key index on provider_id alone, which serves as well
+        assertPlanUsesIndex(List.of("IDX_APPOINTMENTS_PROVIDER_DATETIME", "FK_APPOINTMENTS_PROVIDER_INDEX"),
+            () -> appointmentRepository.findResponsesByServiceProviderId(1L));
+        // With a filter on the joined users.id H2 reorders the joins and still reaches the FK index,
+        // so the generated SQL is checked to bind the provider on the appointments column
+        String exportSql = assertPlanUsesIndex(List.of("IDX_APPOINTMENTS_PROVIDER_DATETIME", "FK_APPOINTMENTS_PROVIDER_INDEX"),
+            () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (var responses = appointmentRepository.streamResponses(
+                        new AppointmentExportFilter(null, null, null, 1L), 100)) {
+                    responses.findFirst();
+                }
+            }));
+        assertTrue(exportSql.matches("(?s).*\\ba1_0\\.provider_id=\\?.*"), exportSql);
+    }
+
+    @Test
+    void testCustomerQueriesUseCustomerIndex() {
+        assertPlanUsesIndex("IDX_APPOINTMENTS_CUSTOMER_DATETIME",
+            () -> appointmentRepository.findUpcomingAppointmentsByCustomer(1L, TIME));
+        assertPlanUsesIndex("IDX_APPOINTMENTS_CUSTOMER_DATETIME",
+            () -> appointmentRepository.findUpcomingResponsesByCustomer(1L, TIME));
+        assertPlanUsesIndex(List.of("IDX_APPOINTMENTS_CUSTOMER_DATETIME", "FK_APPOINTMENTS_CUSTOMER_INDEX"),
+            () -> appointmentRepository.findResponsesByCustomerId(1L));
+    }
+
+    @Test
+    void testStatusQueriesUseStatusIndex() {
+        assertPlanUsesIndex("IDX_APPOINTMENTS_STATUS_DATETIME",
+            () -> appointmentRepository.findByStatus(Appointment.Status.CONFIRMED));
+        assertPlanUsesIndex("IDX_APPOINTMENTS_STATUS_DATETIME",
+            () -> appointmentRepository.findResponsesByStatus(Appointment.Status.CONFIRMED));
+        assertPlanUsesIndex("IDX_APPOINTMENTS_STATUS_DATETIME",
+            () -> appointmentRepository.findByStatusAndAppointmentDateTimeBefore(Appointment.Status.PENDING, TIME));
+    }
+
+    @Test
+    void testCleanupChunkUsesStatusIndex() {
+        // PostgreSQL uses the partial index idx_appointments_pending_id instead
+        assertPlanUsesIndex("IDX_APPOINTMENTS_STATUS_DATETIME",
+            () -> appointmentRepository.findExpiredPendingIds(TIME, 10L, PageRequest.of(0, 5000)));
+    }
+
+    @Test
+    void testListingPageUsesListingIndex() {
+        assertPlanUsesIndex("IDX_APPOINTMENTS_LISTING",
+            () -> appointmentRepository.findFirstPageForListing(PageRequest.of(0, 51)));
+    }
+
+    @Test
+    void testLatestJobRunUsesJobIndex() {
+        assertPlanUsesIndex("IDX_MAINTENANCE_JOB_RUNS_JOB",
+            () -> jobRunRepository.findTop20ByJobNameOrderByIdDesc("cleanup"));
+    }
+
+    // Runs the repository call, then EXPLAINs the first select statement it sent to the database
+    // (entity queries are followed by selects loading the associated users)
+    private void assertPlanUsesIndex(String index, Runnable repositoryCall) {
+        assertPlanUsesIndex(List.of(index), repositoryCall);
+    }
+
+    // Returns the EXPLAINed statement
+    private String assertPlanUsesIndex(List<String> indexes, Runnable repositoryCall) {
+        String sql = SqlCapture.capture(repositoryCall);
+        String plan = jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql);
+                 var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+        assertNotNull(plan);
+        assertTrue(indexes.stream().anyMatch(plan.toUpperCase()::contains), "Expected one of " + indexes + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), "Unexpected table scan:\n" + plan);
+        return sql;
+    }
+
+    /**
+     * Statement inspector recording the SQL Hibernate sends on the capturing thread
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+        private static volatile Thread capturing;
+
+        static synchronized String capture(Runnable repositoryCall) {
+            STATEMENTS.clear();
+            capturing = Thread.currentThread();
+            try {
+                repositoryCall.run();
+            } finally {
+                capturing = null;
+            }
+            return STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No select statement captured"));
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == capturing) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
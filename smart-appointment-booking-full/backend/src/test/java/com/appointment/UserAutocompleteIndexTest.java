@@ -0,0 +1,102 @@
+package com.appointment;
+
+import com.appointment.directory.UserAutocompleteIndex;
+import com.appointment.dto.UserResponse;
+import com.appointment.event.UserChangedEvent;
+import com.appointment.event.UsersCreatedEvent;
+import com.appointment.model.User;
+import com.appointment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserAutocompleteIndexTest {
+
+  private UserAutocompleteIndex index;
+
+  @BeforeEach
+  void setUp() {
+    UserRepository userRepository = mock(UserRepository.class);
+    when(userRepository.findAll()).thenReturn(List.of(
+      user(1L, "John Doe", "john.doe@example.com", User.Role.CUSTOMER, true),
+      user(2L, "Mary Johnson", "mary@clinic.com", User.Role.SERVICE_PROVIDER, true),
+      user(3L, "Joan Baker", "jb@example.com", User.Role.CUSTOMER, false),
+      user(4L, "Dr. Jonas Smith", "jonas@clinic.com", User.Role.SERVICE_PROVIDER, true)));
+    index = new UserAutocompleteIndex(userRepository);
+    index.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void testMatchesNameWordAndEmailPrefixes() {
+    assertEquals(List.of(1L, 2L, 4L), ids(index.complete("jo", 10, null)));
+    assertEquals(List.of(2L), ids(index.complete("  MARY@", 10, null)));
+    assertEquals(List.of(4L), ids(index.complete("smi", 10, null)));
+    assertTrue(index.complete("", 10, null).isEmpty());
+    assertTrue(index.complete("zz", 10, null).isEmpty());
+  }
+
+  @Test
+  void testFiltersByRoleAndLimit() {
+    assertEquals(List.of(2L, 4L), ids(index.complete("jo", 10, User.Role.SERVICE_PROVIDER)));
+    assertEquals(1, index.complete("jo", 1, null).size());
+    // Inactive users are never suggested
+    assertTrue(index.complete("joan", 10, null).isEmpty());
+  }
+
+  @Test
+  void testFollowsUserChanges() {
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 1L, "Johnny Walker",
+      "johnny@example.com", null, User.Role.CUSTOMER, true, null));
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, 5L, "Anna Jorgensen",
+      "anna@example.com", null, User.Role.CUSTOMER, true, null));
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, 2L, "Mary Johnson",
+      "mary@clinic.com", null, User.Role.SERVICE_PROVIDER, true, null));
+
+    assertEquals(List.of(1L), ids(index.complete("walk", 10, null)));
+    assertTrue(index.complete("doe", 10, null).isEmpty());
+    assertEquals(List.of(1L, 4L, 5L), ids(index.complete("jo", 10, null)));
+    assertEquals(4, index.size());
+
+    // Deactivation and a role change move the user's keys out of (and into) the per-role arrays
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 4L, "Dr. Jonas Smith",
+      "jonas@clinic.com", null, User.Role.SERVICE_PROVIDER, false, null));
+    index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 5L, "Anna Jorgensen",
+      "anna@example.com", null, User.Role.SERVICE_PROVIDER, true, null));
+    assertEquals(List.of(5L), ids(index.complete("jo", 10, User.Role.SERVICE_PROVIDER)));
+    assertEquals(List.of(1L), ids(index.complete("jo", 10, User.Role.CUSTOMER)));
+    assertEquals(4, index.size());
+  }
+
+  @Test
+  void testAppliesBulkCreationInOneUpdate() {
+    index.onUsersCreated(UsersCreatedEvent.of(List.of(
+      user(5L, "Jolene Park", "jolene@example.com", User.Role.CUSTOMER, true),
+      user(6L, "Dr. Joseph Lee", "joseph@clinic.com", User.Role.SERVICE_PROVIDER, true),
+      user(7L, "Jody Inactive", "jody@example.com", User.Role.CUSTOMER, false))));
+
+    assertEquals(List.of(1L, 2L, 5L, 4L, 6L), ids(index.complete("jo", 10, null)));
+    assertEquals(List.of(2L, 4L, 6L), ids(index.complete("jo", 10, User.Role.SERVICE_PROVIDER)));
+    assertEquals(List.of(6L), ids(index.complete("lee", 10, null)));
+    assertTrue(index.complete("jody", 10, null).isEmpty());
+    assertEquals(7, index.size());
+  }
+
+  private List<Long> ids(List<UserResponse> users) {
+    return users.stream().map(UserResponse::getId).toList();
+  }
+
+  private User user(Long id, String name, String email, User.Role role, boolean active) {
+    User user = new User();
+    user.setId(id);
+    user.setName(name);
+    user.setEmail(email);
+    user.setRole(role);
+    user.setActive(active);
+    return user;
+  }
+}
@@ -1,18 +1,28 @@
 package com.appointment;
 
+import com.appointment.dto.BulkUserRequest;
 import com.appointment.dto.UserRequest;
 import com.appointment.model.User;
 import com.appointment.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -31,6 +41,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private com.appointment.repository.AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         appointmentRepository.deleteAll();
@@ -54,4 +67,48 @@ class UserControllerIntegrationTest {
         assertEquals(HttpStatus.OK, getResponse.getStatusCode());
         assertTrue(getResponse.getBody().contains("Alice"));
     }
+
+    @Test
+    void testBulkCreateUsers_BatchesInserts() {
+        List<UserRequest> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(new UserRequest("Bulk User " + i, "bulk" + i + "@example.com", "password", null, User.Role.CUSTOMER));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<String> postResponse = restTemplate.postForEntity("/api/v1/users/bulk", new BulkUserRequest(users), String.class);
+        assertEquals(HttpStatus.CREATED, postResponse.getStatusCode());
+        assertEquals(20, userRepository.count());
+        assertEquals(20, statistics.getEntityInsertCount());
+        // One reused insert statement plus the email check and a sequence call, not one statement per user
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+            "Expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+
+        ResponseEntity<String> duplicate = restTemplate.postForEntity("/api/v1/users/bulk",
+            new BulkUserRequest(List.of(users.get(0))), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, duplicate.getStatusCode());
+        assertEquals(20, userRepository.count());
+    }
+
+    @Test
+    void testProviderListRevalidatesWithETag() {
+        restTemplate.postForEntity("/api/v1/users",
+            new UserRequest("Dr. Who", "who@example.com", "password", null, User.Role.SERVICE_PROVIDER), String.class);
+        ResponseEntity<String> first = restTemplate.getForEntity("/api/v1/users/providers", String.class);
+        assertTrue(first.getBody().contains("Dr. Who"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+        ResponseEntity<String> unchanged = restTemplate.exchange("/api/v1/users/providers", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+
+        restTemplate.postForEntity("/api/v1/users",
+            new UserRequest("Dr. No", "no@example.com", "password", null, User.Role.SERVICE_PROVIDER), String.class);
+        ResponseEntity<String> changed = restTemplate.exchange("/api/v1/users/providers", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertTrue(changed.getBody().contains("Dr. No"));
+    }
 }
@@ -47,6 +47,14 @@ class UserControllerTest {
       .andExpect(status().isNotFound());
   }
 
+  @Test
+  void testAutocompleteUsers() throws Exception {
+    when(userService.autocompleteUsers("al", 5, com.appointment.model.User.Role.CUSTOMER)).thenReturn(List.of(userResponse));
+    mockMvc.perform(get("/api/v1/users/autocomplete").param("prefix", "al").param("limit", "5").param("role", "CUSTOMER"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data[0].name").value("Alice"));
+  }
+
   @Test
   void testDeleteUser_Valid() throws Exception {
     mockMvc.perform(delete("/api/v1/users/1"))
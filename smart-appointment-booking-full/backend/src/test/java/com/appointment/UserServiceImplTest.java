@@ -1,5 +1,7 @@
 package com.appointment;
 
+import com.appointment.directory.ProviderDirectory;
+import com.appointment.directory.UserAutocompleteIndex;
 import com.appointment.dto.UserRequest;
 import com.appointment.dto.UserResponse;
 import com.appointment.exception.AppointmentException;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.Collections;
@@ -39,17 +42,25 @@ class UserServiceImplTest {
 
   @Test
   void testDeleteUser_InvalidId() {
-    when(userRepository.existsById(99L)).thenReturn(false);
+    when(userRepository.findById(99L)).thenReturn(Optional.empty());
     assertThrows(com.appointment.exception.ResourceNotFoundException.class, () -> userService.deleteUser(99L));
   }
 
   @Test
   void testGetAllServiceProviders_Empty() {
-    when(userRepository.findAllActiveServiceProviders()).thenReturn(Collections.emptyList());
+    when(providerDirectory.getProviders()).thenReturn(Collections.emptyList());
     List<UserResponse> providers = userService.getAllServiceProviders();
     assertTrue(providers.isEmpty());
   }
 
+  @Test
+  void testAutocompleteUsers_ClampsLimit() {
+    userService.autocompleteUsers("jo", null, null);
+    verify(autocompleteIndex).complete("jo", 10, null);
+    userService.autocompleteUsers("jo", 1000, User.Role.SERVICE_PROVIDER);
+    verify(autocompleteIndex).complete("jo", 50, User.Role.SERVICE_PROVIDER);
+  }
+
   @Test
   void testGetUserByEmail_NotFound() {
     when(userRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
@@ -59,6 +70,15 @@ class UserServiceImplTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private ProviderDirectory providerDirectory;
+
+  @Mock
+  private UserAutocompleteIndex autocompleteIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private UserServiceImpl userService;
 
@@ -116,4 +136,21 @@ class UserServiceImplTest {
     UserResponse response = userService.createUser(userRequest);
     assertEquals("Alice", response.getName());
   }
+
+  @Test
+  void testCreateUsers_DuplicateInBatch() {
+    assertThrows(AppointmentException.class, () -> userService.createUsers(List.of(userRequest, userRequest)));
+    verify(userRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void testCreateUsers_SavesInOneBatch() {
+    when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+    when(userRepository.saveAll(anyList())).thenReturn(List.of(user));
+    List<UserResponse> responses = userService.createUsers(List.of(userRequest));
+    assertEquals("Alice", responses.get(0).getName());
+    verify(userRepository, never()).save(any(User.class));
+    verify(eventPublisher).publishEvent(any(com.appointment.event.UsersCreatedEvent.class));
+    verify(eventPublisher, never()).publishEvent(any(com.appointment.event.UserChangedEvent.class));
+  }
 }
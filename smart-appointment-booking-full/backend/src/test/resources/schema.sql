@@ -1,25 +0,0 @@
-CREATE TABLE users (
-    id INT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255),
-    email VARCHAR(255),
-    password VARCHAR(255),
-    phone VARCHAR(20),
-    role VARCHAR(50),
-    active BOOLEAN,
-    created_at TIMESTAMP,
-    updated_at TIMESTAMP
-);
-
-CREATE TABLE appointments (
-    id INT AUTO_INCREMENT PRIMARY KEY,
-    customer_id INT,
-    provider_id INT,
-    service_type VARCHAR(50),
-    appointment_datetime TIMESTAMP,
-    notes VARCHAR(255),
-    status VARCHAR(50),
-    created_at TIMESTAMP,
-    updated_at TIMESTAMP,
-    FOREIGN KEY (customer_id) REFERENCES users(id),
-    FOREIGN KEY (provider_id) REFERENCES users(id)
-);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import appointmentService from '../../services/appointmentService';
+import appointmentEvents from '../../services/appointmentEvents';
 import userService from '../../services/userService';
 import LoadingSpinner from '../common/LoadingSpinner';
 import '../../styles/Dashboard.css';
@@ -13,8 +14,23 @@ const AdminDashboard = () => {
 
   useEffect(() => {
     fetchData();
+    // Changes made by other users are pushed by the server; only appointments and stats are refetched for them
+    return appointmentEvents.subscribe({}, refreshAppointments);
   }, []);
 
+  const refreshAppointments = async () => {
+    try {
+      const [statsRes, appointmentsRes] = await Promise.all([
+        appointmentService.getStatistics(),
+        appointmentService.getAllAppointments(),
+      ]);
+      if (statsRes.success) setStats(statsRes.data);
+      if (appointmentsRes.success) setAppointments(appointmentsRes.data || []);
+    } catch (err) {
+      console.error('Error refreshing appointments:', err);
+    }
+  };
+
   const fetchData = async () => {
     try {
       setLoading(true);
@@ -39,7 +55,7 @@ const AdminDashboard = () => {
     if (window.confirm('Are you sure you want to delete this appointment?')) {
       try {
         await appointmentService.deleteAppointment(id);
-        fetchData();
+        refreshAppointments(); // Refresh the table; the event stream may be refused or disconnected
       } catch (err) {
         alert('Failed to delete appointment');
       }
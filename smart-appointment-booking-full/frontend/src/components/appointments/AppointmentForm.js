@@ -3,7 +3,7 @@ import { useNavigate, useParams } from 'react-router-dom';
 import { useAuth } from '../../context/AuthContext';
 import appointmentService from '../../services/appointmentService';
 import userService from '../../services/userService';
-import { Container, Box, Typography, TextField, Button, Alert, Card, CardContent, MenuItem, CircularProgress } from '@mui/material';
+import { Container, Box, Typography, TextField, Button, Alert, Card, CardContent, MenuItem, CircularProgress, Chip } from '@mui/material';
 
 const AppointmentForm = () => {
   const { id } = useParams();
@@ -19,6 +19,8 @@ const AppointmentForm = () => {
   });
 
   const [providers, setProviders] = useState([]);
+  const [availability, setAvailability] = useState([]);
+  const [nextFreeSlot, setNextFreeSlot] = useState(null);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
 
@@ -29,6 +31,13 @@ const AppointmentForm = () => {
     }
   }, [id]);
 
+  useEffect(() => {
+    if (formData.serviceProviderId) {
+      fetchAvailability(formData.serviceProviderId);
+    } else {
+      setAvailability([]);
+    }
+  }, [formData.serviceProviderId]);
   const fetchProviders = async () => {
     try {
       const response = await userService.getAllServiceProviders();
@@ -40,6 +49,35 @@ const AppointmentForm = () => {
     }
   };
 
+  // Free slots for the next 7 days starting tomorrow, so customers pick an open time instead of guessing
+  const fetchAvailability = async (providerId) => {
+    const from = new Date();
+    from.setDate(from.getDate() + 1);
+    const to = new Date(from);
+    to.setDate(to.getDate() + 6);
+    try {
+      const response = await appointmentService.getProviderAvailability(
+        providerId,
+        from.toLocaleDateString('en-CA'),
+        to.toLocaleDateString('en-CA')
+      );
+      if (response.success) {
+        setAvailability((response.data?.days || []).filter((day) => day.freeSlots.length > 0));
+        setNextFreeSlot(response.data?.nextFreeSlot || null);
+      }
+    } catch (err) {
+      setAvailability([]);
+      console.error('Error fetching availability:', err);
+    }
+  };
+
+  const handleSlotSelect = (date, time) => {
+    setFormData({
+      ...formData,
+      appointmentDateTime: `${date}T${time.slice(0, 5)}`,
+    });
+  };
+
   const fetchAppointment = async () => {
     try {
       const response = await appointmentService.getAppointmentById(id);
@@ -181,6 +219,50 @@ const AppointmentForm = () => {
               inputProps={{ min: getMinDateTime() }}
               helperText="Appointment must be at least 24 hours in advance"
             />
+            {formData.serviceProviderId && (
+              <Box sx={{ mt: 1, mb: 1 }}>
+                <Typography variant="subtitle2" gutterBottom>
+                  Available slots
+                </Typography>
+                {availability.length === 0 ? (
+                  <Typography variant="body2" color="text.secondary">
+                    No free slots in the next 7 days
+                    {nextFreeSlot && (
+                      <Chip
+                        label={`Next free: ${nextFreeSlot.slice(0, 10)} ${nextFreeSlot.slice(11, 16)}`}
+                        size="small"
+                        clickable
+                        sx={{ ml: 1 }}
+                        onClick={() => handleSlotSelect(nextFreeSlot.slice(0, 10), nextFreeSlot.slice(11))}
+                      />
+                    )}
+                  </Typography>
+                ) : (
+                  availability.map((day) => (
+                    <Box key={day.date} sx={{ mb: 1 }}>
+                      <Typography variant="caption" color="text.secondary">
+                        {new Date(`${day.date}T00:00`).toLocaleDateString(undefined, { weekday: 'short', month: 'short', day: 'numeric' })}
+                      </Typography>
+                      <Box sx={{ display: 'flex', flexWrap: 'wrap', gap: 0.5 }}>
+                        {day.freeSlots.map((time) => {
+                          const value = `${day.date}T${time.slice(0, 5)}`;
+                          return (
+                            <Chip
+                              key={value}
+                              label={time.slice(0, 5)}
+                              size="small"
+                              clickable
+                              color={formData.appointmentDateTime.startsWith(value) ? 'primary' : 'default'}
+                              onClick={() => handleSlotSelect(day.date, time)}
+                            />
+                          );
+                        })}
+                      </Box>
+                    </Box>
+                  ))
+                )}
+              </Box>
+            )}
             <TextField
               label="Notes (Optional)"
               name="notes"
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../../context/AuthContext';
 import appointmentService from '../../services/appointmentService';
+import appointmentEvents from '../../services/appointmentEvents';
 import AppointmentCard from '../appointments/AppointmentCard';
 import LoadingSpinner from '../common/LoadingSpinner';
 import { Container, Box, Typography, Button, Grid, Card, CardContent, Tabs, Tab, Alert } from '@mui/material';
@@ -17,11 +18,16 @@ const UserDashboard = () => {
 
   useEffect(() => {
     fetchAppointments();
+    if (!user) return undefined;
+    // Changes made by others are pushed by the server; our own actions refresh the list themselves,
+    // so they show up even when the stream is refused or disconnected
+    const filter = isServiceProvider ? { providerId: user.id } : { customerId: user.id };
+    return appointmentEvents.subscribe(filter, () => fetchAppointments({ silent: true }));
   }, [user]);
 
-  const fetchAppointments = async () => {
+  const fetchAppointments = async ({ silent = false } = {}) => {
     try {
-      setLoading(true);
+      if (!silent) setLoading(true);
       setError('');
 
       let allAppointmentsResponse;
@@ -0,0 +1,32 @@
+import { API_BASE_URL } from './api';
+
+// Coalesces bursts of events (e.g. a batch booking) into one refresh
+const REFRESH_DELAY_MS = 300;
+
+const appointmentEvents = {
+  // Subscribe to appointment changes pushed by the server (Server-Sent Events).
+  // filter: { providerId, customerId } (both optional); onChange is called after changes settle,
+  // and also on a "reset" event when the server could not replay what the client missed.
+  // EventSource reconnects by itself and resumes with Last-Event-ID. Returns an unsubscribe function.
+  subscribe: (filter, onChange) => {
+    const params = new URLSearchParams();
+    if (filter?.providerId) params.append('providerId', filter.providerId);
+    if (filter?.customerId) params.append('customerId', filter.customerId);
+    const source = new EventSource(`${API_BASE_URL}/v1/appointments/events?${params.toString()}`);
+
+    let timer = null;
+    const scheduleRefresh = () => {
+      clearTimeout(timer);
+      timer = setTimeout(onChange, REFRESH_DELAY_MS);
+    };
+    source.addEventListener('appointment', scheduleRefresh);
+    source.addEventListener('reset', scheduleRefresh);
+
+    return () => {
+      clearTimeout(timer);
+      source.close();
+    };
+  },
+};
+
+export default appointmentEvents;
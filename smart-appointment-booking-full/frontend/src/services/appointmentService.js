@@ -7,6 +7,12 @@ const appointmentService = {
     return response.data;
   },
 
+  // Get one page of appointments; pass the returned nextCursor to fetch the following page
+  getAppointmentsPage: async (limit, cursor) => {
+  const response = await api.get('/v1/appointments', { params: { limit, cursor } });
+    return { ...response.data, nextCursor: response.headers['x-next-cursor'] || null };
+  },
+
   // Get appointment by ID
   getAppointmentById: async (id) => {
   const response = await api.get(`/v1/appointments/${id}`);
@@ -72,6 +78,12 @@ const appointmentService = {
   const response = await api.get('/v1/appointments/stats');
     return response.data;
   },
+
+  // Get free slots of a provider (from/to as yyyy-MM-dd)
+  getProviderAvailability: async (providerId, from, to) => {
+  const response = await api.get(`/v1/providers/${providerId}/availability`, { params: { from, to } });
+    return response.data;
+  },
 };
 
 export default appointmentService;
\ No newline at end of file
@@ -42,6 +42,16 @@ const userService = {
   const response = await api.get(`/v1/users/search?name=${name}`);
     return response.data;
   },
+
+  // Type-ahead suggestions by name, word of the name or email prefix
+  autocompleteUsers: async (prefix, limit = 10, role) => {
+  const params = { prefix, limit };
+  if (role) {
+    params.role = role;
+  }
+  const response = await api.get('/v1/users/autocomplete', { params });
+    return response.data;
+  },
 };
 
 export default userService;
\ No newline at end of file